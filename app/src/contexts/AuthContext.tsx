@@ -2,6 +2,7 @@ import { createContext, useContext, useState, useEffect, useCallback, type React
 import type { User, UserRole } from '@/types';
 import { getFullName, rolePermissions } from '@/types';
 import { authApi, userApi } from '@/services/api';
+import { pushClient } from '@/services/push';
 import { toast } from 'sonner';
 
 interface AuthContextType {
@@ -79,6 +80,15 @@ export function AuthProvider({ children }: { children: ReactNode }) {
     initializeAuth();
   }, []);
 
+  // One live push connection per signed-in session
+  useEffect(() => {
+    if (user && localStorage.getItem('accessToken') !== 'demo-token') {
+      pushClient.connect();
+    } else {
+      pushClient.disconnect();
+    }
+  }, [user]);
+
   const login = useCallback(async (username: string, password: string) => {
     setIsLoading(true);
     try {
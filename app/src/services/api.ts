@@ -143,12 +143,18 @@ export const societyApi = {
 
 // Visitor API
 export const visitorApi = {
-  getVisitors: (societyId: string) => 
-    api.get<unknown[]>(`/api/v1/visitors/society/${societyId}`),
+  getVisitors: (societyId: string, cursor?: string, size = 20) => 
+    api.get<unknown>(`/api/v1/visitors/society/${societyId}?size=${size}${cursor ? `&cursor=${encodeURIComponent(cursor)}` : ''}`),
+    
+  getOpenVisitors: (societyId: string) => 
+    api.get<unknown>(`/api/v1/visitors/society/${societyId}/open`),
     
   getTodayVisitors: (societyId: string) => 
     api.get<unknown[]>(`/api/v1/visitors/society/${societyId}/today`),
     
+  searchVisitors: (societyId: string, query: string) => 
+    api.get<unknown[]>(`/api/v1/visitors/society/${societyId}/search?q=${encodeURIComponent(query)}`),
+    
   createVisitor: (data: unknown) => 
     api.post<unknown>('/api/v1/visitors', data),
     
@@ -232,6 +238,51 @@ export const analyticsApi = {
     
   getPaymentStats: (societyId: string) => 
     api.get<unknown>(`/api/v1/analytics/payments/${societyId}`),
+    
+  // from/to are ISO dates; defaults to the last 30 days
+  getDailyStats: (societyId: string, params?: { from?: string; to?: string }) =>
+    api.get<unknown[]>(`/api/v1/analytics/daily/${societyId}`, params),
+
+  // One-minute buckets for the last `minutes` minutes (max 180)
+  getRealtimeStats: (societyId: string, minutes = 60) =>
+    api.get<unknown>(`/api/v1/analytics/realtime/${societyId}?minutes=${minutes}`),
+
+  // from/to are ISO date-times; defaults to the last 24 hours
+  getHourlyStats: (societyId: string, params?: { from?: string; to?: string }) =>
+    api.get<unknown>(`/api/v1/analytics/hourly/${societyId}`, params),
+
+  // Distinct active users per DAY | WEEK | MONTH | TOTAL (approximate, ~2%)
+  getActiveUsers: (societyId: string, params?: { from?: string; to?: string; period?: string }) =>
+    api.get<unknown[]>(`/api/v1/analytics/active-users/${societyId}`, params),
+
+  getPlatformActiveUsers: (params?: { from?: string; to?: string; period?: string }) =>
+    api.get<unknown[]>('/api/v1/analytics/active-users', params),
+
+  // Rebuilds daily stats from source tables; runs in the background
+  startBackfill: (data: { from: string; to?: string }) =>
+    api.post<unknown>('/api/v1/analytics/backfill', data),
+
+  getBackfill: (jobId: string) =>
+    api.get<unknown>(`/api/v1/analytics/backfill/${jobId}`),
+
+  resumeBackfill: (jobId: string) =>
+    api.post<unknown>(`/api/v1/analytics/backfill/${jobId}/resume`),
+};
+
+// Notification API
+export const notificationApi = {
+  // params: cursor, unreadOnly, size
+  getNotifications: (params?: Record<string, unknown>) =>
+    api.get<unknown>('/api/v1/notifications', params),
+
+  getUnreadCount: () =>
+    api.get<number>('/api/v1/notifications/unread-count'),
+
+  markRead: (notificationId: string) =>
+    api.put<number>(`/api/v1/notifications/${notificationId}/read`),
+
+  markAllRead: () =>
+    api.put<number>('/api/v1/notifications/read-all'),
 };
 
 // Payment API
@@ -251,11 +302,19 @@ export const paymentApi = {
 
 // Audit API
 export const auditApi = {
+  // params: userId, action, entityType, entityId, from, to, cursor, size
   getLogs: (societyId: string, params?: Record<string, unknown>) => 
-    api.get<unknown[]>(`/api/v1/audit/society/${societyId}`, params),
+    api.get<unknown>(`/api/v1/audit/society/${societyId}`, params),
+    
+  getUserLogs: (userId: string, params?: Record<string, unknown>) => 
+    api.get<unknown>(`/api/v1/audit/user/${userId}`, params),
     
-  getUserLogs: (userId: string) => 
-    api.get<unknown[]>(`/api/v1/audit/user/${userId}`),
+  exportLogs: (societyId: string, format: 'csv' | 'ndjson', params?: Record<string, unknown>) =>
+    apiClient.get<Blob>(`/api/v1/audit/society/${societyId}/export`, {
+      params: { ...params, format },
+      responseType: 'blob',
+      timeout: 0,
+    }).then(res => res.data),
 };
 
 export default apiClient;
@@ -0,0 +1,123 @@
+const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080';
+const PUSH_URL = `${API_BASE_URL.replace(/^http/, 'ws')}/ws/push`;
+
+const PING_INTERVAL_MS = 30000;
+const PONG_TIMEOUT_MS = 10000;
+const MAX_RECONNECT_DELAY_MS = 30000;
+
+export interface PushFrame<T = unknown> {
+  kind: string;
+  payload: T;
+}
+
+type PushListener = (frame: PushFrame) => void;
+
+// Single shared connection to the push gateway. Listeners register per kind
+// ('notification', 'message', ...); '*' receives everything. After a
+// reconnect, 'reconnect' listeners should refetch what may have been missed.
+class PushClient {
+  private socket: WebSocket | null = null;
+  private listeners = new Map<string, Set<PushListener>>();
+  private reconnectDelay = 1000;
+  private reconnectTimer: ReturnType<typeof setTimeout> | null = null;
+  private pingTimer: ReturnType<typeof setInterval> | null = null;
+  private pongTimer: ReturnType<typeof setTimeout> | null = null;
+  private connectedOnce = false;
+  private stopped = true;
+
+  connect() {
+    this.stopped = false;
+    if (this.socket) return;
+
+    const token = localStorage.getItem('accessToken');
+    if (!token) return;
+
+    const socket = new WebSocket(`${PUSH_URL}?access_token=${encodeURIComponent(token)}`);
+    this.socket = socket;
+
+    socket.onopen = () => {
+      this.reconnectDelay = 1000;
+      if (this.connectedOnce) {
+        this.emit({ kind: 'reconnect', payload: null });
+      }
+      this.connectedOnce = true;
+      this.startPing();
+    };
+
+    socket.onmessage = (event) => {
+      this.clearPongTimer();
+      try {
+        const frame = JSON.parse(event.data) as PushFrame;
+        if (frame.kind !== 'pong') {
+          this.emit(frame);
+        }
+      } catch {
+        // Ignore malformed frames
+      }
+    };
+
+    socket.onclose = () => {
+      this.cleanup();
+      this.scheduleReconnect();
+    };
+
+    socket.onerror = () => socket.close();
+  }
+
+  disconnect() {
+    this.stopped = true;
+    this.connectedOnce = false;
+    if (this.reconnectTimer) clearTimeout(this.reconnectTimer);
+    this.reconnectTimer = null;
+    this.socket?.close();
+    this.cleanup();
+  }
+
+  subscribe(kind: string, listener: PushListener): () => void {
+    if (!this.listeners.has(kind)) {
+      this.listeners.set(kind, new Set());
+    }
+    this.listeners.get(kind)!.add(listener);
+    return () => this.listeners.get(kind)?.delete(listener);
+  }
+
+  private emit(frame: PushFrame) {
+    this.listeners.get(frame.kind)?.forEach(listener => listener(frame));
+    this.listeners.get('*')?.forEach(listener => listener(frame));
+  }
+
+  // Browsers never expose protocol pings, so liveness is checked in-band
+  private startPing() {
+    this.pingTimer = setInterval(() => {
+      if (this.socket?.readyState !== WebSocket.OPEN) return;
+      this.socket.send('ping');
+      this.clearPongTimer();
+      this.pongTimer = setTimeout(() => this.socket?.close(), PONG_TIMEOUT_MS);
+    }, PING_INTERVAL_MS);
+  }
+
+  private clearPongTimer() {
+    if (this.pongTimer) clearTimeout(this.pongTimer);
+    this.pongTimer = null;
+  }
+
+  private cleanup() {
+    if (this.pingTimer) clearInterval(this.pingTimer);
+    this.pingTimer = null;
+    this.clearPongTimer();
+    this.socket = null;
+  }
+
+  private scheduleReconnect() {
+    if (this.stopped || this.reconnectTimer) return;
+    // Jittered backoff so a restarted node is not hit by every client at once
+    const delay = this.reconnectDelay * (0.5 + Math.random());
+    this.reconnectDelay = Math.min(this.reconnectDelay * 2, MAX_RECONNECT_DELAY_MS);
+    this.reconnectTimer = setTimeout(() => {
+      this.reconnectTimer = null;
+      this.connect();
+    }, delay);
+  }
+}
+
+export const pushClient = new PushClient();
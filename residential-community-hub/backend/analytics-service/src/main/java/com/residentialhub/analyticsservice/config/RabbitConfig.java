@@ -0,0 +1,76 @@
+package com.residentialhub.analyticsservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.residentialhub.events.amqp.CompactEventMessageConverter;
+import com.residentialhub.events.codec.EventSchemaRegistry;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class RabbitConfig {
+
+    public static final String ANALYTICS_QUEUE = "analytics.events";
+
+    @Bean
+    public MessageConverter eventMessageConverter(ObjectMapper objectMapper) {
+        return new CompactEventMessageConverter(EventSchemaRegistry.defaultRegistry(),
+            new Jackson2JsonMessageConverter(objectMapper));
+    }
+
+    // One durable queue shared by all instances; each event is counted once
+    @Bean
+    public Queue analyticsQueue() {
+        return QueueBuilder.durable(ANALYTICS_QUEUE).build();
+    }
+
+    // Exclusive, auto-delete queue per instance: every node sees every event,
+    // which keeps its in-memory windows complete
+    @Bean
+    public Queue analyticsWindowQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Declarables analyticsBindings(Queue analyticsQueue, Queue analyticsWindowQueue,
+                                         @Value("${analytics.ingest.exchanges:auth.exchange,visitor.exchange}") List<String> exchanges) {
+        List<Declarable> declarables = new ArrayList<>();
+        for (String name : exchanges) {
+            TopicExchange exchange = new TopicExchange(name);
+            declarables.add(exchange);
+            declarables.add(BindingBuilder.bind(analyticsQueue).to(exchange).with("#"));
+            declarables.add(BindingBuilder.bind(analyticsWindowQueue).to(exchange).with("#"));
+        }
+        return new Declarables(declarables);
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory analyticsListenerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter eventMessageConverter,
+            @Value("${analytics.ingest.prefetch:500}") int prefetch,
+            @Value("${analytics.ingest.consumers:2}") int consumers) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(eventMessageConverter);
+        factory.setPrefetchCount(prefetch);
+        factory.setConcurrentConsumers(consumers);
+        // Counting is idempotent only per delivery; never loop on a bad message
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+}
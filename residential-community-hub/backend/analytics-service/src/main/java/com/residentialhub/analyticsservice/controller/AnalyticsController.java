@@ -0,0 +1,72 @@
+package com.residentialhub.analyticsservice.controller;
+
+import com.residentialhub.analyticsservice.dto.ActiveUsersDto;
+import com.residentialhub.analyticsservice.dto.DailyStatsDto;
+import com.residentialhub.analyticsservice.dto.WindowSeries;
+import com.residentialhub.analyticsservice.service.ActivePeriod;
+import com.residentialhub.analyticsservice.service.ActiveUserService;
+import com.residentialhub.analyticsservice.service.AnalyticsService;
+import com.residentialhub.analyticsservice.service.WindowedAggregateService;
+import com.residentialhub.commons.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/analytics")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+    private final WindowedAggregateService windowedAggregateService;
+    private final ActiveUserService activeUserService;
+
+    @GetMapping("/daily/{societyId}")
+    public ResponseEntity<ApiResponse<List<DailyStatsDto>>> getDailyStats(
+            @PathVariable UUID societyId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<DailyStatsDto> stats = analyticsService.getDailyStats(societyId, from, to);
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+
+    @GetMapping("/realtime/{societyId}")
+    public ResponseEntity<ApiResponse<WindowSeries>> getRealtimeStats(
+            @PathVariable UUID societyId,
+            @RequestParam(defaultValue = "60") int minutes) {
+        return ResponseEntity.ok(ApiResponse.success(windowedAggregateService.recentMinutes(societyId, minutes)));
+    }
+
+    @GetMapping("/hourly/{societyId}")
+    public ResponseEntity<ApiResponse<WindowSeries>> getHourlyStats(
+            @PathVariable UUID societyId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(ApiResponse.success(windowedAggregateService.hourly(societyId, from, to)));
+    }
+
+    @GetMapping("/active-users/{societyId}")
+    public ResponseEntity<ApiResponse<List<ActiveUsersDto>>> getActiveUsers(
+            @PathVariable UUID societyId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") ActivePeriod period) {
+        return ResponseEntity.ok(ApiResponse.success(activeUserService.getActiveUsers(societyId, from, to, period)));
+    }
+
+    // Platform-wide: merges the sketches of every society
+    @GetMapping("/active-users")
+    public ResponseEntity<ApiResponse<List<ActiveUsersDto>>> getPlatformActiveUsers(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "TOTAL") ActivePeriod period) {
+        return ResponseEntity.ok(ApiResponse.success(activeUserService.getActiveUsers(null, from, to, period)));
+    }
+}
@@ -0,0 +1,37 @@
+package com.residentialhub.analyticsservice.controller;
+
+import com.residentialhub.analyticsservice.dto.BackfillJobDto;
+import com.residentialhub.analyticsservice.dto.BackfillRequest;
+import com.residentialhub.analyticsservice.service.BackfillService;
+import com.residentialhub.commons.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/analytics/backfill")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class BackfillController {
+
+    private final BackfillService backfillService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<BackfillJobDto>> startBackfill(@RequestBody BackfillRequest request) {
+        BackfillJobDto job = backfillService.start(request);
+        return ResponseEntity.ok(ApiResponse.success(job, "Backfill job queued"));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<BackfillJobDto>> getBackfill(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(ApiResponse.success(backfillService.getJob(jobId)));
+    }
+
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<ApiResponse<BackfillJobDto>> resumeBackfill(@PathVariable UUID jobId) {
+        BackfillJobDto job = backfillService.resume(jobId);
+        return ResponseEntity.ok(ApiResponse.success(job, "Backfill job resumed"));
+    }
+}
@@ -0,0 +1,21 @@
+package com.residentialhub.analyticsservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActiveUsersDto {
+    // Null for platform-wide counts
+    private String societyId;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    // HyperLogLog estimate, within about 2% of the exact count
+    private long activeUsers;
+}
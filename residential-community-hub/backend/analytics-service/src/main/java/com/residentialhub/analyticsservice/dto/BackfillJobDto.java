@@ -0,0 +1,28 @@
+package com.residentialhub.analyticsservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillJobDto {
+    private UUID id;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private String status;
+    private int totalPartitions;
+    private int completedPartitions;
+    private int failedPartitions;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime heartbeatAt;
+    private LocalDateTime finishedAt;
+}
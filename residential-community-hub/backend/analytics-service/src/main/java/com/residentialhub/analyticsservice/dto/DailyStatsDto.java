@@ -0,0 +1,25 @@
+package com.residentialhub.analyticsservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyStatsDto {
+    private String societyId;
+    private LocalDate statDate;
+    private int visitorsCount;
+    private int maintenanceRequestsCount;
+    private int postsCount;
+    private int messagesCount;
+    private int activeUsersCount;
+    private int newUsersCount;
+    private BigDecimal paymentsTotal;
+}
@@ -0,0 +1,24 @@
+package com.residentialhub.analyticsservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Column-oriented so a chart can plot each array directly: index i is the
+// bucket starting at start + i * bucketSeconds
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WindowSeries {
+    private String societyId;
+    private LocalDateTime start;
+    private int bucketSeconds;
+    private long[] visitorsCreated;
+    private long[] checkIns;
+    private long[] checkOuts;
+    private long[] logins;
+}
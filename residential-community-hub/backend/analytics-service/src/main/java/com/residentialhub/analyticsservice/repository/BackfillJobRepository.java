@@ -0,0 +1,130 @@
+package com.residentialhub.analyticsservice.repository;
+
+import com.residentialhub.analyticsservice.dto.BackfillJobDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class BackfillJobRepository {
+
+    private static final RowMapper<BackfillJobDto> JOB_MAPPER = (rs, i) -> BackfillJobDto.builder()
+        .id(rs.getObject("id", UUID.class))
+        .fromDate(rs.getDate("from_date").toLocalDate())
+        .toDate(rs.getDate("to_date").toLocalDate())
+        .status(rs.getString("status"))
+        .totalPartitions(rs.getInt("total_partitions"))
+        .completedPartitions(rs.getInt("completed_partitions"))
+        .failedPartitions(rs.getInt("failed_partitions"))
+        .lastError(rs.getString("last_error"))
+        .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+        .heartbeatAt(toLocalDateTime(rs.getTimestamp("heartbeat_at")))
+        .finishedAt(toLocalDateTime(rs.getTimestamp("finished_at")))
+        .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UUID create(LocalDate from, LocalDate to) {
+        return jdbcTemplate.queryForObject(
+            "INSERT INTO analytics_backfill_jobs (from_date, to_date) VALUES (?, ?) RETURNING id",
+            UUID.class, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public Optional<BackfillJobDto> findById(UUID jobId) {
+        return jdbcTemplate.query("SELECT * FROM analytics_backfill_jobs WHERE id = ?", JOB_MAPPER, jobId)
+            .stream().findFirst();
+    }
+
+    /**
+     * Jobs nobody is running: new ones and those whose owner stopped
+     * heartbeating, e.g. because its instance died mid-run.
+     */
+    public List<UUID> findClaimable(int staleSeconds) {
+        return jdbcTemplate.queryForList(
+            "SELECT id FROM analytics_backfill_jobs WHERE status = 'PENDING' " +
+            "OR (status = 'RUNNING' AND heartbeat_at < CURRENT_TIMESTAMP - make_interval(secs => ?)) " +
+            "ORDER BY created_at",
+            UUID.class, staleSeconds);
+    }
+
+    // Compare-and-set, so exactly one instance wins a job
+    public boolean claim(UUID jobId, String owner, int staleSeconds) {
+        return jdbcTemplate.update(
+            "UPDATE analytics_backfill_jobs SET status = 'RUNNING', owner = ?, heartbeat_at = CURRENT_TIMESTAMP, " +
+            "failed_partitions = 0, last_error = NULL " +
+            "WHERE id = ? AND (status = 'PENDING' " +
+            "OR (status = 'RUNNING' AND heartbeat_at < CURRENT_TIMESTAMP - make_interval(secs => ?)))",
+            owner, jobId, staleSeconds) == 1;
+    }
+
+    public boolean requeue(UUID jobId) {
+        return jdbcTemplate.update(
+            "UPDATE analytics_backfill_jobs SET status = 'PENDING', finished_at = NULL " +
+            "WHERE id = ? AND status = 'FAILED'", jobId) == 1;
+    }
+
+    public void setTotal(UUID jobId, int totalPartitions) {
+        jdbcTemplate.update("UPDATE analytics_backfill_jobs SET total_partitions = ? WHERE id = ?",
+            totalPartitions, jobId);
+    }
+
+    /**
+     * Refreshes the heartbeat and progress; returns false if another instance
+     * has taken the job over.
+     */
+    public boolean heartbeat(UUID jobId, String owner) {
+        return jdbcTemplate.update(
+            "UPDATE analytics_backfill_jobs SET heartbeat_at = CURRENT_TIMESTAMP, completed_partitions = " +
+            "(SELECT COUNT(*) FROM analytics_backfill_checkpoints WHERE job_id = ?) " +
+            "WHERE id = ? AND owner = ? AND status = 'RUNNING'",
+            jobId, jobId, owner) == 1;
+    }
+
+    public void finish(UUID jobId, String owner, int failedPartitions, String lastError) {
+        jdbcTemplate.update(
+            "UPDATE analytics_backfill_jobs SET status = ?, failed_partitions = ?, last_error = ?, " +
+            "finished_at = CURRENT_TIMESTAMP, completed_partitions = " +
+            "(SELECT COUNT(*) FROM analytics_backfill_checkpoints WHERE job_id = ?) " +
+            "WHERE id = ? AND owner = ? AND status = 'RUNNING'",
+            failedPartitions == 0 ? "COMPLETED" : "FAILED", failedPartitions, lastError, jobId, jobId, owner);
+    }
+
+    public Set<Checkpoint> findCheckpoints(UUID jobId) {
+        Set<Checkpoint> done = new HashSet<>();
+        jdbcTemplate.query("SELECT society_id, chunk_start FROM analytics_backfill_checkpoints WHERE job_id = ?",
+            rs -> {
+                done.add(new Checkpoint(rs.getObject("society_id", UUID.class), rs.getDate("chunk_start").toLocalDate()));
+            }, jobId);
+        return done;
+    }
+
+    public void insertCheckpoint(UUID jobId, Checkpoint checkpoint, int rowsWritten) {
+        jdbcTemplate.update(
+            "INSERT INTO analytics_backfill_checkpoints (job_id, society_id, chunk_start, rows_written) " +
+            "VALUES (?, ?, ?, ?) ON CONFLICT DO NOTHING",
+            jobId, checkpoint.societyId(), Date.valueOf(checkpoint.chunkStart()), rowsWritten);
+    }
+
+    public List<UUID> findSocietyIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM societies ORDER BY id", UUID.class);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    public record Checkpoint(UUID societyId, LocalDate chunkStart) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.residentialhub.analyticsservice.repository;
+
+import com.residentialhub.analyticsservice.service.DailyMetric;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Recomputes daily metrics for one society and date range straight from the
+ * source tables. Each source is grouped by day in the database and the
+ * per-day results are streamed back through a cursor.
+ *
+ * Every filter is society_id plus a time range. Only visitors is partitioned,
+ * so only that branch prunes partitions; the other tables are read through
+ * their (society_id, created_at) or (society_id, paid_at) index (V16).
+ */
+@Repository
+public class BackfillSourceRepository {
+
+    private static final String AGGREGATE_SQL = String.join(" UNION ALL ",
+        perDay(DailyMetric.VISITORS, "COUNT(*)", "visitors", "created_at", ""),
+        perDay(DailyMetric.MAINTENANCE_REQUESTS, "COUNT(*)", "maintenance_requests", "created_at", ""),
+        perDay(DailyMetric.POSTS, "COUNT(*)", "social_posts", "created_at", ""),
+        perDay(DailyMetric.MESSAGES, "COUNT(*)", "messages", "created_at", ""),
+        perDay(DailyMetric.NEW_USERS, "COUNT(*)", "users", "created_at", ""),
+        perDay(DailyMetric.PAYMENTS_MINOR_UNITS, "SUM(amount * 100)::BIGINT", "payments", "paid_at",
+            " AND status = 'PAID'"));
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public BackfillSourceRepository(DataSource dataSource, TransactionTemplate transactionTemplate,
+                                    @Value("${analytics.backfill.fetch-size:1000}") int fetchSize) {
+        // The driver only streams with a fetch size inside a transaction
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Counts for each day in [from, to] as {@code [day][metric]}, indexed by
+     * days since {@code from} and {@link DailyMetric} ordinal.
+     */
+    public long[][] aggregate(UUID societyId, LocalDate from, LocalDate to) {
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        long[][] counts = new long[days][DailyMetric.values().length];
+        Timestamp start = Timestamp.valueOf(from.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(to.plusDays(1).atStartOfDay());
+
+        Object[] args = new Object[6 * 3];
+        for (int i = 0; i < args.length; i += 3) {
+            args[i] = societyId;
+            args[i + 1] = start;
+            args[i + 2] = end;
+        }
+
+        readOnlyTransaction.executeWithoutResult(status ->
+            cursorJdbcTemplate.query(AGGREGATE_SQL, rs -> {
+                int day = (int) ChronoUnit.DAYS.between(from, rs.getDate("day").toLocalDate());
+                counts[day][rs.getInt("metric")] += rs.getLong("value");
+            }, args));
+        return counts;
+    }
+
+    private static String perDay(DailyMetric metric, String aggregate, String table, String timeColumn, String extra) {
+        return "SELECT " + timeColumn + "::DATE AS day, " + metric.ordinal() + " AS metric, " + aggregate + " AS value " +
+            "FROM " + table + " WHERE society_id = ? AND " + timeColumn + " >= ? AND " + timeColumn + " < ?" + extra +
+            " GROUP BY 1";
+    }
+}
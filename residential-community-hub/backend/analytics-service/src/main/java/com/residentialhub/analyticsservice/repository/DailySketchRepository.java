@@ -0,0 +1,90 @@
+package com.residentialhub.analyticsservice.repository;
+
+import com.residentialhub.analyticsservice.util.HyperLogLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Repository
+public class DailySketchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public DailySketchRepository(JdbcTemplate jdbcTemplate, DataSource dataSource,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${analytics.sketches.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        // The driver only streams with a fetch size inside a transaction
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Merges each sketch into its stored row under a row lock and returns the
+     * merged results. Must run inside a transaction; callers pass rows in a
+     * fixed order so concurrent flushes lock them in the same order.
+     */
+    public List<SketchRow> mergeAll(List<SketchRow> rows) {
+        // Rows nobody has written yet simply take our sketch
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO analytics_daily_sketches (society_id, stat_date, sketch) VALUES (?, ?, ?) " +
+            "ON CONFLICT (society_id, stat_date) DO NOTHING",
+            rows, rows.size(), (ps, row) -> {
+                ps.setObject(1, row.societyId());
+                ps.setDate(2, Date.valueOf(row.statDate()));
+                ps.setBytes(3, row.sketch().toBytes());
+            });
+
+        List<SketchRow> merged = new ArrayList<>(rows.size());
+        for (SketchRow row : rows) {
+            byte[] stored = jdbcTemplate.queryForObject(
+                "SELECT sketch FROM analytics_daily_sketches WHERE society_id = ? AND stat_date = ? FOR UPDATE",
+                byte[].class, row.societyId(), Date.valueOf(row.statDate()));
+            HyperLogLog current = HyperLogLog.fromBytes(stored);
+            HyperLogLog result = current.copy();
+            result.merge(row.sketch());
+            if (!result.equals(current)) {
+                jdbcTemplate.update(
+                    "UPDATE analytics_daily_sketches SET sketch = ?, updated_at = CURRENT_TIMESTAMP " +
+                    "WHERE society_id = ? AND stat_date = ?",
+                    result.toBytes(), row.societyId(), Date.valueOf(row.statDate()));
+            }
+            merged.add(new SketchRow(row.societyId(), row.statDate(), result));
+        }
+        return merged;
+    }
+
+    /**
+     * Streams the stored sketches for [from, to], for one society or, when
+     * {@code societyId} is null, for all of them.
+     */
+    public void streamRange(UUID societyId, LocalDate from, LocalDate to, Consumer<SketchRow> consumer) {
+        String sql = "SELECT society_id, stat_date, sketch FROM analytics_daily_sketches WHERE stat_date BETWEEN ? AND ?" +
+            (societyId != null ? " AND society_id = ?" : "");
+        Object[] args = societyId != null
+            ? new Object[]{Date.valueOf(from), Date.valueOf(to), societyId}
+            : new Object[]{Date.valueOf(from), Date.valueOf(to)};
+
+        readOnlyTransaction.executeWithoutResult(status ->
+            cursorJdbcTemplate.query(sql, rs -> {
+                consumer.accept(new SketchRow(rs.getObject("society_id", UUID.class),
+                    rs.getDate("stat_date").toLocalDate(), HyperLogLog.fromBytes(rs.getBytes("sketch"))));
+            }, args));
+    }
+
+    public record SketchRow(UUID societyId, LocalDate statDate, HyperLogLog sketch) {
+    }
+}
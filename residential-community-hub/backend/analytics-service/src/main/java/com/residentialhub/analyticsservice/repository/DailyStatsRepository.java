@@ -0,0 +1,125 @@
+package com.residentialhub.analyticsservice.repository;
+
+import com.residentialhub.analyticsservice.dto.DailyStatsDto;
+import com.residentialhub.analyticsservice.service.DailyMetric;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class DailyStatsRepository {
+
+    private static final DailyMetric[] METRICS = DailyMetric.values();
+
+    // Deltas are added to whatever is stored, so flushes from several
+    // instances (or a retried flush that never reached the database) combine
+    private static final String UPSERT_SQL =
+        "INSERT INTO analytics_daily_stats (society_id, stat_date, " +
+        Arrays.stream(METRICS).map(DailyMetric::getColumn).collect(Collectors.joining(", ")) +
+        ") VALUES (?, ?, " + Arrays.stream(METRICS).map(m -> "?").collect(Collectors.joining(", ")) + ") " +
+        "ON CONFLICT (society_id, stat_date) DO UPDATE SET " +
+        Arrays.stream(METRICS)
+            .map(m -> m.getColumn() + " = COALESCE(analytics_daily_stats." + m.getColumn() + ", 0) + EXCLUDED." + m.getColumn())
+            .collect(Collectors.joining(", "));
+
+    // Absolute values from a recompute replace whatever is stored
+    private static final String OVERWRITE_SQL =
+        "INSERT INTO analytics_daily_stats (society_id, stat_date, " +
+        Arrays.stream(METRICS).map(DailyMetric::getColumn).collect(Collectors.joining(", ")) +
+        ") VALUES (?, ?, " + Arrays.stream(METRICS).map(m -> "?").collect(Collectors.joining(", ")) + ") " +
+        "ON CONFLICT (society_id, stat_date) DO UPDATE SET " +
+        Arrays.stream(METRICS)
+            .map(m -> m.getColumn() + " = EXCLUDED." + m.getColumn())
+            .collect(Collectors.joining(", ")) +
+        ", updated_at = CURRENT_TIMESTAMP";
+
+    private static final String RESET_SQL =
+        "UPDATE analytics_daily_stats SET " +
+        Arrays.stream(METRICS).map(m -> m.getColumn() + " = 0").collect(Collectors.joining(", ")) +
+        ", updated_at = CURRENT_TIMESTAMP WHERE society_id = ? AND stat_date BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void upsertDeltas(List<DailyDelta> deltas) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, deltas, deltas.size(), this::bind);
+    }
+
+    /**
+     * Replaces the counters of one society for [from, to] with recomputed
+     * totals: days missing from {@code totals} end up as zero. Must run inside
+     * a transaction so readers never see the range half rewritten.
+     */
+    public void replaceRange(UUID societyId, LocalDate from, LocalDate to, List<DailyDelta> totals) {
+        jdbcTemplate.update(RESET_SQL, societyId, Date.valueOf(from), Date.valueOf(to));
+        if (!totals.isEmpty()) {
+            jdbcTemplate.batchUpdate(OVERWRITE_SQL, totals, totals.size(), this::bind);
+        }
+    }
+
+    /**
+     * Sets active_users_count from sketch estimates. Rows for societies that
+     * no longer exist are skipped instead of failing the batch on the foreign key.
+     */
+    public void setActiveUsers(List<ActiveUsers> rows) {
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO analytics_daily_stats (society_id, stat_date, active_users_count) " +
+            "SELECT ?, ?, ? WHERE EXISTS (SELECT 1 FROM societies WHERE id = ?) " +
+            "ON CONFLICT (society_id, stat_date) DO UPDATE SET active_users_count = EXCLUDED.active_users_count, " +
+            "updated_at = CURRENT_TIMESTAMP",
+            rows, rows.size(), (ps, row) -> {
+                ps.setObject(1, row.societyId());
+                ps.setDate(2, Date.valueOf(row.statDate()));
+                ps.setInt(3, Math.toIntExact(row.count()));
+                ps.setObject(4, row.societyId());
+            });
+    }
+
+    public List<DailyStatsDto> findBySocietyAndRange(UUID societyId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+            "SELECT society_id, stat_date, visitors_count, maintenance_requests_count, posts_count, messages_count, " +
+            "active_users_count, new_users_count, payments_total FROM analytics_daily_stats " +
+            "WHERE society_id = ? AND stat_date BETWEEN ? AND ? ORDER BY stat_date",
+            (rs, i) -> DailyStatsDto.builder()
+                .societyId(rs.getString("society_id"))
+                .statDate(rs.getDate("stat_date").toLocalDate())
+                .visitorsCount(rs.getInt("visitors_count"))
+                .maintenanceRequestsCount(rs.getInt("maintenance_requests_count"))
+                .postsCount(rs.getInt("posts_count"))
+                .messagesCount(rs.getInt("messages_count"))
+                .activeUsersCount(rs.getInt("active_users_count"))
+                .newUsersCount(rs.getInt("new_users_count"))
+                .paymentsTotal(rs.getBigDecimal("payments_total"))
+                .build(),
+            societyId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    private void bind(PreparedStatement ps, DailyDelta delta) throws SQLException {
+        ps.setObject(1, delta.societyId());
+        ps.setDate(2, Date.valueOf(delta.statDate()));
+        for (DailyMetric metric : METRICS) {
+            long value = delta.counts()[metric.ordinal()];
+            if (metric == DailyMetric.PAYMENTS_MINOR_UNITS) {
+                ps.setBigDecimal(3 + metric.ordinal(), BigDecimal.valueOf(value, 2));
+            } else {
+                ps.setInt(3 + metric.ordinal(), Math.toIntExact(value));
+            }
+        }
+    }
+
+    public record DailyDelta(UUID societyId, LocalDate statDate, long[] counts) {
+    }
+
+    public record ActiveUsers(UUID societyId, LocalDate statDate, long count) {
+    }
+}
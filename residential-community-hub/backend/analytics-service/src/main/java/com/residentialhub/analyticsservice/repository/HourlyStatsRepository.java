@@ -0,0 +1,68 @@
+package com.residentialhub.analyticsservice.repository;
+
+import com.residentialhub.analyticsservice.service.WindowMetric;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class HourlyStatsRepository {
+
+    private static final WindowMetric[] METRICS = WindowMetric.values();
+    private static final String COLUMNS =
+        Arrays.stream(METRICS).map(WindowMetric::getColumn).collect(Collectors.joining(", "));
+
+    // Every instance sees every event and writes absolute counts, so the
+    // largest value is the most complete one. An instance that started
+    // mid-hour seeds that hour from this row first (WindowedAggregateService)
+    private static final String UPSERT_SQL =
+        "INSERT INTO analytics_hourly_stats (society_id, bucket_start, " + COLUMNS + ") " +
+        "VALUES (?, ?, " + Arrays.stream(METRICS).map(m -> "?").collect(Collectors.joining(", ")) + ") " +
+        "ON CONFLICT (society_id, bucket_start) DO UPDATE SET " +
+        Arrays.stream(METRICS)
+            .map(m -> m.getColumn() + " = GREATEST(analytics_hourly_stats." + m.getColumn() + ", EXCLUDED." + m.getColumn() + ")")
+            .collect(Collectors.joining(", ")) +
+        ", updated_at = CURRENT_TIMESTAMP";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void upsert(List<HourlyRow> rows) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), this::bind);
+    }
+
+    public List<HourlyRow> findBySocietyAndRange(UUID societyId, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(
+            "SELECT society_id, bucket_start, " + COLUMNS + " FROM analytics_hourly_stats " +
+            "WHERE society_id = ? AND bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start",
+            (rs, i) -> {
+                long[] counts = new long[METRICS.length];
+                for (WindowMetric metric : METRICS) {
+                    counts[metric.ordinal()] = rs.getLong(metric.getColumn());
+                }
+                return new HourlyRow(rs.getObject("society_id", UUID.class),
+                    rs.getTimestamp("bucket_start").toLocalDateTime(), counts);
+            },
+            societyId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    private void bind(PreparedStatement ps, HourlyRow row) throws SQLException {
+        ps.setObject(1, row.societyId());
+        ps.setTimestamp(2, Timestamp.valueOf(row.bucketStart()));
+        for (WindowMetric metric : METRICS) {
+            ps.setInt(3 + metric.ordinal(), Math.toIntExact(row.counts()[metric.ordinal()]));
+        }
+    }
+
+    public record HourlyRow(UUID societyId, LocalDateTime bucketStart, long[] counts) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.residentialhub.analyticsservice.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * How daily active-user sketches are rolled up: each period's distinct
+ * count comes from merging the sketches of its days.
+ */
+public enum ActivePeriod {
+    DAY,
+    WEEK,
+    MONTH,
+    // The whole requested range as one period
+    TOTAL;
+
+    LocalDate startOf(LocalDate day, LocalDate rangeStart) {
+        return switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+            case TOTAL -> rangeStart;
+        };
+    }
+
+    LocalDate endOf(LocalDate day, LocalDate rangeEnd) {
+        LocalDate end = switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+            case MONTH -> day.withDayOfMonth(day.lengthOfMonth());
+            case TOTAL -> rangeEnd;
+        };
+        return end.isAfter(rangeEnd) ? rangeEnd : end;
+    }
+}
@@ -0,0 +1,185 @@
+package com.residentialhub.analyticsservice.service;
+
+import com.residentialhub.analyticsservice.dto.ActiveUsersDto;
+import com.residentialhub.analyticsservice.repository.DailySketchRepository;
+import com.residentialhub.analyticsservice.repository.DailySketchRepository.SketchRow;
+import com.residentialhub.analyticsservice.repository.DailyStatsRepository;
+import com.residentialhub.analyticsservice.repository.DailyStatsRepository.ActiveUsers;
+import com.residentialhub.analyticsservice.util.HyperLogLog;
+import com.residentialhub.commons.exception.BadRequestException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Distinct active users per society and day as HyperLogLog sketches.
+ *
+ * Logins land in per-day sketches in memory; the flush merges them into the
+ * stored sketches and refreshes active_users_count with the new estimate.
+ * Because merging is idempotent, a flush retried after a failure, or a login
+ * delivered twice, cannot inflate the count. Weekly, monthly and
+ * platform-wide numbers are merges of the daily sketches, never rescans.
+ */
+@Service
+@Slf4j
+public class ActiveUserService {
+
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private final DailySketchRepository sketchRepository;
+    private final DailyStatsRepository dailyStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile Map<DayKey, HyperLogLog> pending = new ConcurrentHashMap<>();
+
+    private final Counter flushedRows;
+    private final Counter flushFailures;
+    private final Timer flushTimer;
+
+    public ActiveUserService(DailySketchRepository sketchRepository,
+                             DailyStatsRepository dailyStatsRepository,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry) {
+        this.sketchRepository = sketchRepository;
+        this.dailyStatsRepository = dailyStatsRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.flushedRows = Counter.builder("analytics.sketches.flushed.rows").register(meterRegistry);
+        this.flushFailures = Counter.builder("analytics.sketches.flush.failures").register(meterRegistry);
+        this.flushTimer = Timer.builder("analytics.sketches.flush").register(meterRegistry);
+        Gauge.builder("analytics.sketches.pending.keys", this, s -> s.pending.size()).register(meterRegistry);
+    }
+
+    public void record(UUID societyId, LocalDate day, String userId) {
+        swapLock.readLock().lock();
+        try {
+            HyperLogLog sketch = pending.computeIfAbsent(new DayKey(societyId, day), k -> new HyperLogLog());
+            synchronized (sketch) {
+                sketch.add(userId);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.sketches.flush-interval-ms:30000}")
+    public void flush() {
+        Map<DayKey, HyperLogLog> snapshot;
+        swapLock.writeLock().lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            snapshot = pending;
+            pending = new ConcurrentHashMap<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        List<SketchRow> rows = new ArrayList<>(snapshot.size());
+        snapshot.forEach((key, sketch) -> rows.add(new SketchRow(key.societyId(), key.day(), sketch)));
+        // Same lock order on every instance, so concurrent merges cannot deadlock
+        rows.sort(Comparator.comparing(SketchRow::societyId).thenComparing(SketchRow::statDate));
+
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                List<SketchRow> merged = sketchRepository.mergeAll(rows);
+                dailyStatsRepository.setActiveUsers(merged.stream()
+                    .map(row -> new ActiveUsers(row.societyId(), row.statDate(), row.sketch().estimate()))
+                    .toList());
+            }));
+            flushedRows.increment(rows.size());
+        } catch (Exception e) {
+            flushFailures.increment();
+            log.warn("Active user sketch flush of {} rows failed, keeping them for the next run: {}", rows.size(), e.getMessage());
+            rows.forEach(this::restore);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Distinct active users per period in [from, to] for one society, or for
+     * the whole platform when {@code societyId} is null.
+     */
+    public List<ActiveUsersDto> getActiveUsers(UUID societyId, LocalDate from, LocalDate to, ActivePeriod period) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        if (start.isAfter(end)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (start.plusDays(MAX_RANGE_DAYS).isBefore(end)) {
+            start = end.minusDays(MAX_RANGE_DAYS);
+        }
+        LocalDate rangeStart = start;
+
+        TreeMap<LocalDate, HyperLogLog> buckets = new TreeMap<>();
+        for (LocalDate day = start; !day.isAfter(end); day = period.endOf(day, end).plusDays(1)) {
+            buckets.put(periodStart(period, day, rangeStart), new HyperLogLog());
+        }
+
+        sketchRepository.streamRange(societyId, start, end, row ->
+            buckets.get(periodStart(period, row.statDate(), rangeStart)).merge(row.sketch()));
+
+        // Logins not flushed yet, so the current day is up to date
+        for (Map.Entry<DayKey, HyperLogLog> entry : pending.entrySet()) {
+            DayKey key = entry.getKey();
+            if ((societyId == null || societyId.equals(key.societyId()))
+                    && !key.day().isBefore(start) && !key.day().isAfter(end)) {
+                HyperLogLog sketch = entry.getValue();
+                synchronized (sketch) {
+                    buckets.get(periodStart(period, key.day(), rangeStart)).merge(sketch);
+                }
+            }
+        }
+
+        List<ActiveUsersDto> result = new ArrayList<>(buckets.size());
+        buckets.forEach((periodStart, sketch) -> result.add(ActiveUsersDto.builder()
+            .societyId(societyId != null ? societyId.toString() : null)
+            .periodStart(periodStart)
+            .periodEnd(period.endOf(periodStart, end))
+            .activeUsers(sketch.estimate())
+            .build()));
+        return result;
+    }
+
+    // A period that began before the range is reported from the range start
+    private static LocalDate periodStart(ActivePeriod period, LocalDate day, LocalDate rangeStart) {
+        LocalDate start = period.startOf(day, rangeStart);
+        return start.isBefore(rangeStart) ? rangeStart : start;
+    }
+
+    private void restore(SketchRow row) {
+        swapLock.readLock().lock();
+        try {
+            HyperLogLog sketch = pending.computeIfAbsent(new DayKey(row.societyId(), row.statDate()), k -> new HyperLogLog());
+            synchronized (sketch) {
+                sketch.merge(row.sketch());
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private record DayKey(UUID societyId, LocalDate day) {
+    }
+}
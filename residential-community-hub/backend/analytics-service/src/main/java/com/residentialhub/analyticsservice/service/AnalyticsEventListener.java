@@ -0,0 +1,78 @@
+package com.residentialhub.analyticsservice.service;
+
+import com.residentialhub.events.LoginEvent;
+import com.residentialhub.events.VisitorBatchEvent;
+import com.residentialhub.events.VisitorEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitHandler;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@RabbitListener(queues = "#{analyticsQueue.name}", containerFactory = "analyticsListenerFactory")
+public class AnalyticsEventListener {
+
+    private static final String VISITOR_CREATED = "VISITOR_CREATED";
+
+    private final DailyCounterService dailyCounterService;
+    private final ActiveUserService activeUserService;
+
+    @RabbitHandler
+    public void onVisitorEvent(VisitorEvent event) {
+        if (VISITOR_CREATED.equals(event.getEventType())) {
+            countVisitor(event);
+        }
+    }
+
+    @RabbitHandler
+    public void onVisitorBatchEvent(VisitorBatchEvent batch) {
+        if (VISITOR_CREATED.equals(batch.getEventType()) && batch.getEvents() != null) {
+            batch.getEvents().forEach(this::countVisitor);
+        }
+    }
+
+    @RabbitHandler
+    public void onLoginEvent(LoginEvent event) {
+        UUID societyId = parseSociety(event.getSocietyId());
+        if (societyId != null && event.getUserId() != null) {
+            activeUserService.record(societyId, dayOf(event.getTimestamp()), event.getUserId());
+        }
+    }
+
+    // Events this service does not count yet are acknowledged and skipped;
+    // the DailyMetric columns without a live event are backfill-only
+    @RabbitHandler(isDefault = true)
+    public void onOtherEvent(Object event) {
+        log.trace("Ignoring {}", event.getClass().getSimpleName());
+    }
+
+    private void countVisitor(VisitorEvent event) {
+        UUID societyId = parseSociety(event.getSocietyId());
+        if (societyId != null) {
+            dailyCounterService.increment(societyId, dayOf(event.getTimestamp()), DailyMetric.VISITORS, 1);
+        }
+    }
+
+    private LocalDate dayOf(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.toLocalDate() : LocalDate.now();
+    }
+
+    private UUID parseSociety(String societyId) {
+        if (societyId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(societyId);
+        } catch (IllegalArgumentException e) {
+            log.debug("Skipping event with invalid society id {}", societyId);
+            return null;
+        }
+    }
+}
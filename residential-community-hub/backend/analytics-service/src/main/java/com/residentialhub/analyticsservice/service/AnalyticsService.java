@@ -0,0 +1,32 @@
+package com.residentialhub.analyticsservice.service;
+
+import com.residentialhub.analyticsservice.dto.DailyStatsDto;
+import com.residentialhub.analyticsservice.repository.DailyStatsRepository;
+import com.residentialhub.commons.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private final DailyStatsRepository dailyStatsRepository;
+
+    public List<DailyStatsDto> getDailyStats(UUID societyId, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        if (start.isAfter(end)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (start.plusDays(MAX_RANGE_DAYS).isBefore(end)) {
+            start = end.minusDays(MAX_RANGE_DAYS);
+        }
+        return dailyStatsRepository.findBySocietyAndRange(societyId, start, end);
+    }
+}
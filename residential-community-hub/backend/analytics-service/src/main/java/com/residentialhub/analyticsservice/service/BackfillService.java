@@ -0,0 +1,275 @@
+package com.residentialhub.analyticsservice.service;
+
+import com.residentialhub.analyticsservice.dto.BackfillJobDto;
+import com.residentialhub.analyticsservice.dto.BackfillRequest;
+import com.residentialhub.analyticsservice.repository.BackfillJobRepository;
+import com.residentialhub.analyticsservice.repository.BackfillJobRepository.Checkpoint;
+import com.residentialhub.analyticsservice.repository.BackfillSourceRepository;
+import com.residentialhub.analyticsservice.repository.DailyStatsRepository;
+import com.residentialhub.analyticsservice.repository.DailyStatsRepository.DailyDelta;
+import com.residentialhub.commons.exception.BadRequestException;
+import com.residentialhub.commons.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rebuilds analytics_daily_stats from the source tables.
+ *
+ * A job is split into partitions of one society and one calendar month, so
+ * each scan is one short range on the (society_id, time) index of every
+ * source table, and on visitors it also hits a single partition. At
+ * most {@code parallelism} partitions run at once, each one reading through
+ * a streaming cursor and then replacing its days in a short transaction that
+ * also records a checkpoint. A restarted or taken-over job skips partitions
+ * already checkpointed, and rerunning one is harmless because the rows are
+ * overwritten, not added to.
+ *
+ * Jobs live in analytics_backfill_jobs; any instance may pick one up, and the
+ * owner keeps a heartbeat so another instance can take over if it dies.
+ */
+@Service
+@Slf4j
+public class BackfillService {
+
+    private final BackfillJobRepository jobs;
+    private final BackfillSourceRepository sources;
+    private final DailyStatsRepository dailyStats;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int parallelism;
+    private final int staleSeconds;
+    private final long heartbeatMs;
+    private final long pauseMs;
+
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName();
+    private final AtomicBoolean busy = new AtomicBoolean();
+    private final ExecutorService coordinator;
+    private final ExecutorService workers;
+
+    private final Counter partitionsDone;
+    private final Counter partitionFailures;
+    private final Timer partitionTimer;
+
+    public BackfillService(BackfillJobRepository jobs,
+                           BackfillSourceRepository sources,
+                           DailyStatsRepository dailyStats,
+                           TransactionTemplate transactionTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${analytics.backfill.parallelism:2}") int parallelism,
+                           @Value("${analytics.backfill.stale-after-seconds:120}") int staleSeconds,
+                           @Value("${analytics.backfill.heartbeat-ms:10000}") long heartbeatMs,
+                           @Value("${analytics.backfill.pause-ms:0}") long pauseMs) {
+        this.jobs = jobs;
+        this.sources = sources;
+        this.dailyStats = dailyStats;
+        this.transactionTemplate = transactionTemplate;
+        this.parallelism = parallelism;
+        this.staleSeconds = staleSeconds;
+        this.heartbeatMs = heartbeatMs;
+        this.pauseMs = pauseMs;
+        this.coordinator = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "analytics-backfill");
+            t.setDaemon(true);
+            return t;
+        });
+        this.workers = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "analytics-backfill-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        this.partitionsDone = Counter.builder("analytics.backfill.partitions").register(meterRegistry);
+        this.partitionFailures = Counter.builder("analytics.backfill.partition.failures").register(meterRegistry);
+        this.partitionTimer = Timer.builder("analytics.backfill.partition").register(meterRegistry);
+    }
+
+    public BackfillJobDto start(BackfillRequest request) {
+        // Today belongs to the live counters: overwriting it would race with
+        // their additive flushes
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate to = request.getTo() == null || request.getTo().isAfter(yesterday) ? yesterday : request.getTo();
+        if (request.getFrom() == null) {
+            throw new BadRequestException("from is required");
+        }
+        if (request.getFrom().isAfter(to)) {
+            throw new BadRequestException("from must not be after to (or yesterday)");
+        }
+
+        UUID jobId = jobs.create(request.getFrom(), to);
+        log.info("Created analytics backfill job {} for {} to {}", jobId, request.getFrom(), to);
+        pollJobs();
+        return getJob(jobId);
+    }
+
+    public BackfillJobDto getJob(UUID jobId) {
+        return jobs.findById(jobId)
+            .orElseThrow(() -> new ResourceNotFoundException("Backfill job not found: " + jobId));
+    }
+
+    public BackfillJobDto resume(UUID jobId) {
+        if (!jobs.requeue(jobId)) {
+            throw new BadRequestException("Only failed jobs can be resumed");
+        }
+        pollJobs();
+        return getJob(jobId);
+    }
+
+    // Picks up new jobs and jobs abandoned by a dead instance, one at a time
+    @Scheduled(fixedDelayString = "${analytics.backfill.poll-interval-ms:30000}")
+    public void pollJobs() {
+        if (!busy.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (UUID jobId : jobs.findClaimable(staleSeconds)) {
+                if (jobs.claim(jobId, owner, staleSeconds)) {
+                    coordinator.execute(() -> run(jobId));
+                    return;
+                }
+            }
+            busy.set(false);
+        } catch (RuntimeException e) {
+            busy.set(false);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Unfinished jobs keep their checkpoints and are taken over once the
+        // heartbeat goes stale
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void run(UUID jobId) {
+        try {
+            BackfillJobDto job = getJob(jobId);
+            List<Checkpoint> partitions = plan(job.getFromDate(), job.getToDate());
+            jobs.setTotal(jobId, partitions.size());
+            Set<Checkpoint> done = jobs.findCheckpoints(jobId);
+            log.info("Running analytics backfill job {}: {} partitions, {} already done", jobId, partitions.size(), done.size());
+
+            ExecutorCompletionService<Void> completion = new ExecutorCompletionService<>(workers);
+            Iterator<Checkpoint> pending = partitions.stream().filter(p -> !done.contains(p)).iterator();
+            int inFlight = 0;
+            int failed = 0;
+            String lastError = null;
+            boolean lostOwnership = false;
+            long nextHeartbeat = System.currentTimeMillis() + heartbeatMs;
+
+            while ((!lostOwnership && pending.hasNext()) || inFlight > 0) {
+                // Only a handful queued at a time, so losing the job stops it quickly
+                while (!lostOwnership && pending.hasNext() && inFlight < parallelism) {
+                    Checkpoint partition = pending.next();
+                    completion.submit(() -> runPartition(jobId, job.getToDate(), partition), null);
+                    inFlight++;
+                }
+
+                Future<Void> finished = completion.poll(heartbeatMs, TimeUnit.MILLISECONDS);
+                if (finished != null) {
+                    inFlight--;
+                    try {
+                        finished.get();
+                    } catch (ExecutionException e) {
+                        failed++;
+                        partitionFailures.increment();
+                        lastError = String.valueOf(e.getCause().getMessage());
+                        log.warn("Backfill partition of job {} failed: {}", jobId, lastError);
+                    }
+                }
+
+                if (System.currentTimeMillis() >= nextHeartbeat) {
+                    nextHeartbeat = System.currentTimeMillis() + heartbeatMs;
+                    if (!lostOwnership && !jobs.heartbeat(jobId, owner)) {
+                        lostOwnership = true;
+                        log.warn("Analytics backfill job {} was taken over by another instance, stopping", jobId);
+                    }
+                }
+            }
+
+            if (!lostOwnership) {
+                jobs.finish(jobId, owner, failed, lastError);
+                log.info("Analytics backfill job {} finished with {} failed partitions", jobId, failed);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Analytics backfill job {} aborted: {}", jobId, e.getMessage(), e);
+            jobs.finish(jobId, owner, 1, e.getMessage());
+        } finally {
+            busy.set(false);
+        }
+    }
+
+    private void runPartition(UUID jobId, LocalDate jobTo, Checkpoint partition) {
+        LocalDate from = partition.chunkStart();
+        LocalDate monthEnd = from.withDayOfMonth(from.lengthOfMonth());
+        LocalDate to = monthEnd.isBefore(jobTo) ? monthEnd : jobTo;
+
+        partitionTimer.record(() -> {
+            // Read outside the write transaction so row locks are held briefly
+            long[][] counts = sources.aggregate(partition.societyId(), from, to);
+            List<DailyDelta> totals = new ArrayList<>();
+            for (int day = 0; day < counts.length; day++) {
+                if (hasAny(counts[day])) {
+                    totals.add(new DailyDelta(partition.societyId(), from.plusDays(day), counts[day]));
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                dailyStats.replaceRange(partition.societyId(), from, to, totals);
+                jobs.insertCheckpoint(jobId, partition, totals.size());
+            });
+        });
+        partitionsDone.increment();
+
+        if (pauseMs > 0) {
+            // Optional throttle to leave database headroom for user traffic
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private List<Checkpoint> plan(LocalDate from, LocalDate to) {
+        List<Checkpoint> partitions = new ArrayList<>();
+        for (UUID societyId : jobs.findSocietyIds()) {
+            for (LocalDate start = from; !start.isAfter(to); start = start.withDayOfMonth(1).plusMonths(1)) {
+                partitions.add(new Checkpoint(societyId, start));
+            }
+        }
+        return partitions;
+    }
+
+    private static boolean hasAny(long[] counts) {
+        for (long count : counts) {
+            if (count != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,138 @@
+package com.residentialhub.analyticsservice.service;
+
+import com.residentialhub.analyticsservice.repository.DailyStatsRepository;
+import com.residentialhub.analyticsservice.repository.DailyStatsRepository.DailyDelta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-society daily counters kept in memory and flushed as additive upserts.
+ *
+ * Listener threads increment under the shared read lock; the flush swaps in
+ * an empty map under the write lock, so every increment lands in exactly one
+ * flush. A failed flush folds its deltas back in for the next attempt.
+ * Increments made since the last flush are lost if the process dies; the
+ * backfill job rebuilds exact numbers from the source tables.
+ */
+@Service
+@Slf4j
+public class DailyCounterService {
+
+    private static final int METRIC_COUNT = DailyMetric.values().length;
+
+    private final DailyStatsRepository repository;
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile Map<DayKey, AtomicLongArray> counters = new ConcurrentHashMap<>();
+
+    private final Counter flushedRows;
+    private final Counter droppedRows;
+    private final Counter flushFailures;
+    private final Timer flushTimer;
+
+    public DailyCounterService(DailyStatsRepository repository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.flushedRows = Counter.builder("analytics.counters.flushed.rows").register(meterRegistry);
+        this.droppedRows = Counter.builder("analytics.counters.dropped.rows")
+            .description("Daily rows rejected by the database, e.g. unknown society")
+            .register(meterRegistry);
+        this.flushFailures = Counter.builder("analytics.counters.flush.failures").register(meterRegistry);
+        this.flushTimer = Timer.builder("analytics.counters.flush").register(meterRegistry);
+        Gauge.builder("analytics.counters.pending.keys", this, s -> s.counters.size()).register(meterRegistry);
+    }
+
+    public void increment(UUID societyId, LocalDate day, DailyMetric metric, long amount) {
+        swapLock.readLock().lock();
+        try {
+            counters.computeIfAbsent(new DayKey(societyId, day), k -> new AtomicLongArray(METRIC_COUNT))
+                .addAndGet(metric.ordinal(), amount);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.counters.flush-interval-ms:5000}")
+    public void flush() {
+        Map<DayKey, AtomicLongArray> snapshot;
+        swapLock.writeLock().lock();
+        try {
+            if (counters.isEmpty()) {
+                return;
+            }
+            snapshot = counters;
+            counters = new ConcurrentHashMap<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        List<DailyDelta> deltas = new ArrayList<>(snapshot.size());
+        snapshot.forEach((key, values) -> {
+            long[] counts = new long[METRIC_COUNT];
+            for (int i = 0; i < METRIC_COUNT; i++) {
+                counts[i] = values.get(i);
+            }
+            deltas.add(new DailyDelta(key.societyId(), key.day(), counts));
+        });
+        // Same lock order on every instance, so concurrent upserts cannot deadlock
+        deltas.sort(Comparator.comparing(DailyDelta::societyId).thenComparing(DailyDelta::statDate));
+
+        try {
+            flushTimer.record(() -> repository.upsertDeltas(deltas));
+            flushedRows.increment(deltas.size());
+        } catch (NonTransientDataAccessException e) {
+            log.warn("Daily stats batch rejected, upserting rows one by one: {}", e.getMessage());
+            deltas.forEach(this::flushSingle);
+        } catch (Exception e) {
+            flushFailures.increment();
+            log.warn("Daily stats flush of {} rows failed, keeping them for the next run: {}", deltas.size(), e.getMessage());
+            deltas.forEach(this::restore);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flushSingle(DailyDelta delta) {
+        try {
+            repository.upsertDeltas(List.of(delta));
+            flushedRows.increment();
+        } catch (NonTransientDataAccessException e) {
+            droppedRows.increment();
+            log.warn("Dropping daily stats for society {} on {}: {}", delta.societyId(), delta.statDate(), e.getMessage());
+        } catch (Exception e) {
+            flushFailures.increment();
+            restore(delta);
+        }
+    }
+
+    private void restore(DailyDelta delta) {
+        for (DailyMetric metric : DailyMetric.values()) {
+            long value = delta.counts()[metric.ordinal()];
+            if (value != 0) {
+                increment(delta.societyId(), delta.statDate(), metric, value);
+            }
+        }
+    }
+
+    private record DayKey(UUID societyId, LocalDate day) {
+    }
+}
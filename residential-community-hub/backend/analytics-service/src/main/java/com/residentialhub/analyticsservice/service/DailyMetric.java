@@ -0,0 +1,32 @@
+package com.residentialhub.analyticsservice.service;
+
+/**
+ * Additive per-society daily counters, one per analytics_daily_stats column.
+ * Payments are counted in minor units so every counter is a plain long.
+ *
+ * Only VISITORS is counted live, from VISITOR_CREATED events. The other
+ * services publish no events for maintenance requests, posts, messages,
+ * sign-ups or payments, so those columns are backfill-only: they change
+ * only when BackfillService rebuilds a range from the source tables, and
+ * lag until the next backfill. Count one live by publishing its event and
+ * handling it in AnalyticsEventListener.
+ */
+public enum DailyMetric {
+    VISITORS("visitors_count"),
+    // Backfill-only, see above
+    MAINTENANCE_REQUESTS("maintenance_requests_count"),
+    POSTS("posts_count"),
+    MESSAGES("messages_count"),
+    NEW_USERS("new_users_count"),
+    PAYMENTS_MINOR_UNITS("payments_total");
+
+    private final String column;
+
+    DailyMetric(String column) {
+        this.column = column;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+}
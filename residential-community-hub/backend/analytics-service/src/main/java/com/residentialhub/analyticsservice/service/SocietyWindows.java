@@ -0,0 +1,149 @@
+package com.residentialhub.analyticsservice.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tumbling one-minute and one-hour windows for one society, kept in flat
+ * primitive rings: slot {@code s} of metric {@code m} lives at
+ * {@code s * metrics + m}. Each slot remembers which minute (or hour) it
+ * holds, so a slot is lazily cleared when time wraps around to it and
+ * nothing has to run on a timer.
+ *
+ * Time is a wall-clock bucket index (local minutes since the epoch), which
+ * keeps hours aligned with local hours in zones with half-hour offsets.
+ */
+final class SocietyWindows {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final int metrics;
+    private final int minuteSlots;
+    private final int hourSlots;
+
+    private final long[] minuteCounts;
+    private final long[] minuteIndex;
+    private final long[] hourCounts;
+    private final long[] hourIndex;
+    private final boolean[] hourDirty;
+    private final boolean[] hourSeeded;
+
+    SocietyWindows(int metrics, int minuteSlots, int hourSlots) {
+        this.metrics = metrics;
+        this.minuteSlots = minuteSlots;
+        this.hourSlots = hourSlots;
+        this.minuteCounts = new long[minuteSlots * metrics];
+        this.minuteIndex = new long[minuteSlots];
+        this.hourCounts = new long[hourSlots * metrics];
+        this.hourIndex = new long[hourSlots];
+        this.hourDirty = new boolean[hourSlots];
+        this.hourSeeded = new boolean[hourSlots];
+        Arrays.fill(minuteIndex, EMPTY);
+        Arrays.fill(hourIndex, EMPTY);
+    }
+
+    synchronized void add(long minute, int metric, long amount) {
+        int slot = Math.floorMod(minute, minuteSlots);
+        if (claim(minuteIndex, minuteCounts, slot, minute)) {
+            minuteCounts[slot * metrics + metric] += amount;
+        }
+
+        long hour = Math.floorDiv(minute, 60);
+        slot = Math.floorMod(hour, hourSlots);
+        if (claim(hourIndex, hourCounts, slot, hour)) {
+            hourCounts[slot * metrics + metric] += amount;
+            hourDirty[slot] = true;
+        }
+    }
+
+    /**
+     * Counts for {@code count} consecutive buckets starting at {@code first},
+     * as {@code [metric][bucket]}. Buckets outside the ring read as zero.
+     */
+    synchronized long[][] minuteSeries(long first, int count) {
+        return series(minuteIndex, minuteCounts, minuteSlots, first, count);
+    }
+
+    synchronized long[][] hourSeries(long first, int count) {
+        return series(hourIndex, hourCounts, hourSlots, first, count);
+    }
+
+    /**
+     * Hours changed since the last call, with their full counts; clears the
+     * dirty marks. Counts are absolute, so writing one twice is harmless.
+     */
+    synchronized List<HourSnapshot> drainDirtyHours() {
+        List<HourSnapshot> dirty = new ArrayList<>();
+        for (int slot = 0; slot < hourSlots; slot++) {
+            if (hourDirty[slot]) {
+                hourDirty[slot] = false;
+                dirty.add(new HourSnapshot(hourIndex[slot],
+                    Arrays.copyOfRange(hourCounts, slot * metrics, (slot + 1) * metrics)));
+            }
+        }
+        return dirty;
+    }
+
+    synchronized void markDirty(long hour) {
+        int slot = Math.floorMod(hour, hourSlots);
+        if (hourIndex[slot] == hour) {
+            hourDirty[slot] = true;
+        }
+    }
+
+    synchronized boolean isSeeded(long hour) {
+        int slot = Math.floorMod(hour, hourSlots);
+        return hourIndex[slot] == hour && hourSeeded[slot];
+    }
+
+    /**
+     * Adds persisted counts to an hour once, before the first event for it is
+     * counted here. Later calls for the same hour are ignored.
+     */
+    synchronized void seed(long hour, long[] counts) {
+        int slot = Math.floorMod(hour, hourSlots);
+        if (!claim(hourIndex, hourCounts, slot, hour) || hourSeeded[slot]) {
+            return;
+        }
+        for (int m = 0; m < metrics; m++) {
+            hourCounts[slot * metrics + m] += counts[m];
+        }
+        hourSeeded[slot] = true;
+    }
+
+    // Returns false for a bucket older than what the slot already holds
+    private boolean claim(long[] index, long[] counts, int slot, long bucket) {
+        if (index[slot] == bucket) {
+            return true;
+        }
+        if (index[slot] != EMPTY && index[slot] > bucket) {
+            return false;
+        }
+        index[slot] = bucket;
+        Arrays.fill(counts, slot * metrics, (slot + 1) * metrics, 0L);
+        if (index == hourIndex) {
+            hourDirty[slot] = false;
+            hourSeeded[slot] = false;
+        }
+        return true;
+    }
+
+    private long[][] series(long[] index, long[] counts, int slots, long first, int count) {
+        long[][] out = new long[metrics][count];
+        for (int i = 0; i < count; i++) {
+            long bucket = first + i;
+            int slot = Math.floorMod(bucket, slots);
+            if (index[slot] != bucket) {
+                continue;
+            }
+            for (int m = 0; m < metrics; m++) {
+                out[m][i] = counts[slot * metrics + m];
+            }
+        }
+        return out;
+    }
+
+    record HourSnapshot(long hour, long[] counts) {
+    }
+}
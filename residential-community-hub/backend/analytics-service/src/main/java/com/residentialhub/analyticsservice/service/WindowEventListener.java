@@ -0,0 +1,81 @@
+package com.residentialhub.analyticsservice.service;
+
+import com.residentialhub.events.LoginEvent;
+import com.residentialhub.events.VisitorBatchEvent;
+import com.residentialhub.events.VisitorEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitHandler;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+// Feeds the windows from this instance's own fan-out queue
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@RabbitListener(queues = "#{analyticsWindowQueue.name}", containerFactory = "analyticsListenerFactory")
+public class WindowEventListener {
+
+    private final WindowedAggregateService windowedAggregateService;
+
+    @RabbitHandler
+    public void onVisitorEvent(VisitorEvent event) {
+        WindowMetric metric = metricFor(event.getEventType());
+        if (metric != null) {
+            record(event, metric);
+        }
+    }
+
+    @RabbitHandler
+    public void onVisitorBatchEvent(VisitorBatchEvent batch) {
+        WindowMetric metric = metricFor(batch.getEventType());
+        if (metric != null && batch.getEvents() != null) {
+            batch.getEvents().forEach(event -> record(event, metric));
+        }
+    }
+
+    @RabbitHandler
+    public void onLoginEvent(LoginEvent event) {
+        UUID societyId = parseSociety(event.getSocietyId());
+        if (societyId != null) {
+            windowedAggregateService.record(societyId, event.getTimestamp(), WindowMetric.LOGINS, 1);
+        }
+    }
+
+    @RabbitHandler(isDefault = true)
+    public void onOtherEvent(Object event) {
+        log.trace("Ignoring {}", event.getClass().getSimpleName());
+    }
+
+    private void record(VisitorEvent event, WindowMetric metric) {
+        UUID societyId = parseSociety(event.getSocietyId());
+        if (societyId != null) {
+            windowedAggregateService.record(societyId, event.getTimestamp(), metric, 1);
+        }
+    }
+
+    private WindowMetric metricFor(String eventType) {
+        if (eventType == null) {
+            return null;
+        }
+        return switch (eventType) {
+            case "VISITOR_CREATED" -> WindowMetric.VISITORS_CREATED;
+            case "VISITOR_CHECKED_IN" -> WindowMetric.CHECK_INS;
+            case "VISITOR_CHECKED_OUT" -> WindowMetric.CHECK_OUTS;
+            default -> null;
+        };
+    }
+
+    private UUID parseSociety(String societyId) {
+        if (societyId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(societyId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.residentialhub.analyticsservice.service;
+
+/**
+ * Counters kept in the minute and hour windows, one per
+ * analytics_hourly_stats column.
+ */
+public enum WindowMetric {
+    VISITORS_CREATED("visitors_created"),
+    CHECK_INS("check_ins"),
+    CHECK_OUTS("check_outs"),
+    LOGINS("logins");
+
+    private final String column;
+
+    WindowMetric(String column) {
+        this.column = column;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+}
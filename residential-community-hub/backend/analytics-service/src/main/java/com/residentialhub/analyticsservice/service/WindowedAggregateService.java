@@ -0,0 +1,198 @@
+package com.residentialhub.analyticsservice.service;
+
+import com.residentialhub.analyticsservice.dto.WindowSeries;
+import com.residentialhub.analyticsservice.repository.HourlyStatsRepository;
+import com.residentialhub.analyticsservice.repository.HourlyStatsRepository.HourlyRow;
+import com.residentialhub.commons.exception.BadRequestException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Minute and hour tumbling windows per society, served straight from memory
+ * for the recent past and rolled up into analytics_hourly_stats for history.
+ *
+ * Every instance consumes every event (see RabbitConfig), so each one holds
+ * complete windows and reads never need to ask a peer. Hourly rows carry
+ * absolute counts and are merged with GREATEST, so instances overwrite each
+ * other harmlessly and a restart cannot lower a persisted hour.
+ *
+ * An instance only sees events from the moment it starts, so an hour that
+ * was already open (or earlier hours with late events) is seeded from its
+ * persisted row the first time it is touched. Without that, the counts from
+ * before and after a restart would be merged with GREATEST instead of added.
+ */
+@Service
+@Slf4j
+public class WindowedAggregateService {
+
+    private static final WindowMetric[] METRICS = WindowMetric.values();
+    private static final int MAX_HOURS = 24 * 31;
+
+    private final HourlyStatsRepository repository;
+    private final Map<UUID, SocietyWindows> windows = new ConcurrentHashMap<>();
+    private final int minuteSlots;
+    private final int hourSlots;
+    private final long startedHour = minuteOf(LocalDateTime.now()) / 60;
+
+    private final Counter flushedRows;
+    private final Counter flushFailures;
+    private final Timer flushTimer;
+
+    public WindowedAggregateService(HourlyStatsRepository repository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${analytics.windows.minute-slots:180}") int minuteSlots,
+                                    @Value("${analytics.windows.hour-slots:48}") int hourSlots) {
+        this.repository = repository;
+        this.minuteSlots = minuteSlots;
+        this.hourSlots = hourSlots;
+        this.flushedRows = Counter.builder("analytics.windows.flushed.rows").register(meterRegistry);
+        this.flushFailures = Counter.builder("analytics.windows.flush.failures").register(meterRegistry);
+        this.flushTimer = Timer.builder("analytics.windows.flush").register(meterRegistry);
+        Gauge.builder("analytics.windows.societies", windows, Map::size).register(meterRegistry);
+    }
+
+    public void record(UUID societyId, LocalDateTime timestamp, WindowMetric metric, long amount) {
+        LocalDateTime at = timestamp != null ? timestamp : LocalDateTime.now();
+        SocietyWindows society = windows.computeIfAbsent(societyId,
+            k -> new SocietyWindows(METRICS.length, minuteSlots, hourSlots));
+        long minute = minuteOf(at);
+        long hour = Math.floorDiv(minute, 60);
+        if (hour <= startedHour && !society.isSeeded(hour)) {
+            society.seed(hour, persistedCounts(societyId, hour));
+        }
+        society.add(minute, metric.ordinal(), amount);
+    }
+
+    /**
+     * The last {@code minutes} one-minute buckets, ending with the current
+     * (still open) minute. Never touches the database.
+     */
+    public WindowSeries recentMinutes(UUID societyId, int minutes) {
+        int count = Math.max(1, Math.min(minutes, minuteSlots));
+        long first = minuteOf(LocalDateTime.now()) - count + 1;
+        SocietyWindows society = windows.get(societyId);
+        long[][] series = society != null ? society.minuteSeries(first, count) : new long[METRICS.length][count];
+        return toSeries(societyId, timeOf(first * 60), 60, series);
+    }
+
+    /**
+     * Hourly buckets in [from, to). Persisted rollups are overlaid with the
+     * in-memory hours, taking the larger count, so the open hour and hours not
+     * yet flushed are current.
+     */
+    public WindowSeries hourly(UUID societyId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime end = (to != null ? to : LocalDateTime.now().plusHours(1)).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime start = (from != null ? from : end.minusHours(24)).truncatedTo(ChronoUnit.HOURS);
+        if (!start.isBefore(end)) {
+            throw new BadRequestException("from must be before to");
+        }
+        if (start.plusHours(MAX_HOURS).isBefore(end)) {
+            start = end.minusHours(MAX_HOURS);
+        }
+
+        long firstHour = minuteOf(start) / 60;
+        int count = (int) (minuteOf(end) / 60 - firstHour);
+        long[][] series = new long[METRICS.length][count];
+        for (HourlyRow row : repository.findBySocietyAndRange(societyId, start, end)) {
+            int i = (int) (minuteOf(row.bucketStart()) / 60 - firstHour);
+            for (int m = 0; m < METRICS.length; m++) {
+                series[m][i] = row.counts()[m];
+            }
+        }
+
+        SocietyWindows society = windows.get(societyId);
+        if (society != null) {
+            long[][] memory = society.hourSeries(firstHour, count);
+            for (int m = 0; m < METRICS.length; m++) {
+                for (int i = 0; i < count; i++) {
+                    series[m][i] = Math.max(series[m][i], memory[m][i]);
+                }
+            }
+        }
+        return toSeries(societyId, start, 3600, series);
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.windows.flush-interval-ms:60000}")
+    public void flush() {
+        List<HourlyRow> rows = new ArrayList<>();
+        windows.forEach((societyId, society) -> {
+            for (SocietyWindows.HourSnapshot hour : society.drainDirtyHours()) {
+                rows.add(new HourlyRow(societyId, timeOf(hour.hour() * 3600), hour.counts()));
+            }
+        });
+        if (rows.isEmpty()) {
+            return;
+        }
+        // Same lock order on every instance, so concurrent upserts cannot deadlock
+        rows.sort(Comparator.comparing(HourlyRow::societyId).thenComparing(HourlyRow::bucketStart));
+
+        try {
+            flushTimer.record(() -> repository.upsert(rows));
+            flushedRows.increment(rows.size());
+        } catch (Exception e) {
+            flushFailures.increment();
+            log.warn("Hourly rollup flush of {} rows failed, retrying next run: {}", rows.size(), e.getMessage());
+            for (HourlyRow row : rows) {
+                SocietyWindows society = windows.get(row.societyId());
+                if (society != null) {
+                    society.markDirty(minuteOf(row.bucketStart()) / 60);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private long[] persistedCounts(UUID societyId, long hour) {
+        LocalDateTime bucketStart = timeOf(hour * 3600);
+        try {
+            List<HourlyRow> rows = repository.findBySocietyAndRange(societyId, bucketStart, bucketStart.plusHours(1));
+            return rows.isEmpty() ? new long[METRICS.length] : rows.get(0).counts();
+        } catch (Exception e) {
+            // Fall back to GREATEST against the persisted row
+            log.warn("Could not seed hour {} for society {}: {}", bucketStart, societyId, e.getMessage());
+            return new long[METRICS.length];
+        }
+    }
+
+    private WindowSeries toSeries(UUID societyId, LocalDateTime start, int bucketSeconds, long[][] series) {
+        return WindowSeries.builder()
+            .societyId(societyId.toString())
+            .start(start)
+            .bucketSeconds(bucketSeconds)
+            .visitorsCreated(series[WindowMetric.VISITORS_CREATED.ordinal()])
+            .checkIns(series[WindowMetric.CHECK_INS.ordinal()])
+            .checkOuts(series[WindowMetric.CHECK_OUTS.ordinal()])
+            .logins(series[WindowMetric.LOGINS.ordinal()])
+            .build();
+    }
+
+    // Local wall-clock time read as if it were UTC, so buckets follow local hours
+    private static long minuteOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime timeOf(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
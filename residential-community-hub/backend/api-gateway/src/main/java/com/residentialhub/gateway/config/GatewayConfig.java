@@ -96,6 +96,12 @@ public class GatewayConfig {
                     .stripPrefix(0))
                 .uri("lb://social-service"))
             
+            // Live push connections; authenticated once on the upgrade request
+            .route("social-push", r -> r.path("/ws/push")
+                .filters(f -> f
+                    .filter(authFilter.apply(new AuthenticationFilter.Config())))
+                .uri("lb:ws://social-service"))
+            
             .build();
     }
 }
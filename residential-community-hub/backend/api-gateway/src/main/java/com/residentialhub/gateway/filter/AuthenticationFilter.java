@@ -50,12 +50,10 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
                 return chain.filter(exchange);
             }
 
-            // Check for Authorization header
-            if (!hasAuthHeader(request)) {
+            String token = extractToken(request);
+            if (token == null) {
                 return onError(exchange, "Missing Authorization header", HttpStatus.UNAUTHORIZED);
             }
-
-            String token = extractToken(request);
             
             try {
                 // Validate token
@@ -86,15 +84,15 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
         return publicEndpoints.stream().anyMatch(path::startsWith);
     }
 
-    private boolean hasAuthHeader(ServerHttpRequest request) {
-        return request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION);
-    }
-
     private String extractToken(ServerHttpRequest request) {
         String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             return authHeader.substring(7);
         }
+        // Browsers cannot set headers on a WebSocket upgrade
+        if ("websocket".equalsIgnoreCase(request.getHeaders().getUpgrade())) {
+            return request.getQueryParams().getFirst("access_token");
+        }
         return null;
     }
 
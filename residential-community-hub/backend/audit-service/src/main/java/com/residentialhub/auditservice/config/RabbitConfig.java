@@ -0,0 +1,83 @@
+package com.residentialhub.auditservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.residentialhub.events.amqp.CompactEventMessageConverter;
+import com.residentialhub.events.codec.EventSchemaRegistry;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class RabbitConfig {
+
+    public static final String AUDIT_QUEUE = "audit.events";
+    public static final String AUDIT_DEAD_LETTER_QUEUE = "audit.events.dlq";
+
+    @Bean
+    public MessageConverter eventMessageConverter(ObjectMapper objectMapper) {
+        return new CompactEventMessageConverter(EventSchemaRegistry.defaultRegistry(),
+            new Jackson2JsonMessageConverter(objectMapper));
+    }
+
+    // Durable so events published while audit-service is down are not lost;
+    // messages that can never be stored are dead-lettered instead of looping
+    @Bean
+    public Queue auditQueue() {
+        return QueueBuilder.durable(AUDIT_QUEUE)
+            .deadLetterExchange("")
+            .deadLetterRoutingKey(AUDIT_DEAD_LETTER_QUEUE)
+            .build();
+    }
+
+    @Bean
+    public Queue auditDeadLetterQueue() {
+        return QueueBuilder.durable(AUDIT_DEAD_LETTER_QUEUE).build();
+    }
+
+    // Every configured exchange is bound with '#', so new event types on an
+    // existing exchange are audited without a redeploy; new exchanges only
+    // need adding to audit.ingest.exchanges
+    @Bean
+    public Declarables auditBindings(Queue auditQueue,
+                                     @Value("${audit.ingest.exchanges:auth.exchange,visitor.exchange}") List<String> exchanges) {
+        List<Declarable> declarables = new ArrayList<>();
+        for (String name : exchanges) {
+            TopicExchange exchange = new TopicExchange(name);
+            declarables.add(exchange);
+            declarables.add(BindingBuilder.bind(auditQueue).to(exchange).with("#"));
+        }
+        return new Declarables(declarables);
+    }
+
+    // Manual acks: a message is only acknowledged once the batch holding it
+    // is committed, and prefetch caps how much sits in the ingest buffer
+    @Bean
+    public SimpleRabbitListenerContainerFactory auditListenerFactory(
+            ConnectionFactory connectionFactory,
+            @Value("${audit.ingest.prefetch:1000}") int prefetch,
+            @Value("${audit.ingest.consumers:2}") int consumers,
+            @Value("${audit.ingest.max-consumers:4}") int maxConsumers) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setPrefetchCount(prefetch);
+        factory.setConcurrentConsumers(consumers);
+        factory.setMaxConcurrentConsumers(maxConsumers);
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+}
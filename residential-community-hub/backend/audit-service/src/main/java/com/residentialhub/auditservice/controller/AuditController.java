@@ -0,0 +1,81 @@
+package com.residentialhub.auditservice.controller;
+
+import com.residentialhub.auditservice.dto.AuditLogFilter;
+import com.residentialhub.auditservice.dto.AuditLogPage;
+import com.residentialhub.auditservice.dto.IntegrityReport;
+import com.residentialhub.auditservice.service.AuditIntegrityService;
+import com.residentialhub.auditservice.service.AuditQueryService;
+import com.residentialhub.commons.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/audit")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AuditController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    private final AuditQueryService auditQueryService;
+    private final AuditIntegrityService auditIntegrityService;
+
+    @GetMapping("/society/{societyId}")
+    public ResponseEntity<ApiResponse<AuditLogPage>> getSocietyLogs(
+            @PathVariable UUID societyId,
+            @ModelAttribute AuditLogFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        filter.setSocietyId(societyId);
+        AuditLogPage page = auditQueryService.getLogs(filter, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<ApiResponse<AuditLogPage>> getUserLogs(
+            @PathVariable String userId,
+            @ModelAttribute AuditLogFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        filter.setUserId(userId);
+        AuditLogPage page = auditQueryService.getLogs(filter, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    @GetMapping("/society/{societyId}/export")
+    public ResponseEntity<StreamingResponseBody> exportSocietyLogs(
+            @PathVariable UUID societyId,
+            @ModelAttribute AuditLogFilter filter,
+            @RequestParam(defaultValue = "csv") String format) {
+        filter.setSocietyId(societyId);
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        String filename = "audit-" + societyId + "-" + LocalDate.now() + (ndjson ? ".ndjson" : ".csv");
+
+        StreamingResponseBody body = ndjson
+            ? out -> auditQueryService.exportNdjson(filter, out)
+            : out -> auditQueryService.exportCsv(filter, out);
+        return ResponseEntity.ok()
+            .contentType(ndjson ? NDJSON : CSV)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+            .body(body);
+    }
+
+    @GetMapping("/integrity")
+    public ResponseEntity<ApiResponse<IntegrityReport>> verifyIntegrity(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        IntegrityReport report = auditIntegrityService.verify(from, to);
+        return ResponseEntity.ok(ApiResponse.success(report,
+            report.isValid() ? "Audit log intact" : "Audit log integrity violations found"));
+    }
+}
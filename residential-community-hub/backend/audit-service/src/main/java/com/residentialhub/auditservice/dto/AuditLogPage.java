@@ -0,0 +1,18 @@
+package com.residentialhub.auditservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogPage {
+    private List<AuditLogRecord> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,28 @@
+package com.residentialhub.auditservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogRecord {
+    private UUID id;
+    private String userId;
+    private String username;
+    private String action;
+    private String entityType;
+    private String entityId;
+    private String oldValue;
+    private String newValue;
+    private String ipAddress;
+    private String userAgent;
+    private UUID societyId;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,25 @@
+package com.residentialhub.auditservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntegrityReport {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private boolean valid;
+    private int segmentsChecked;
+    // Sealed segments whose rows were dropped by retention; only their chain is checked
+    private int segmentsArchived;
+    private long rowsChecked;
+    private List<SegmentViolation> violations;
+    private long elapsedMs;
+}
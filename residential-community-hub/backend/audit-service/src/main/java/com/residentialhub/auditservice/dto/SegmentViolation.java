@@ -0,0 +1,16 @@
+package com.residentialhub.auditservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SegmentViolation {
+    private long segmentId;
+    private long chainSeq;
+    private String reason;
+}
@@ -0,0 +1,12 @@
+package com.residentialhub.auditservice.exception;
+
+public class AuditMappingException extends RuntimeException {
+
+    public AuditMappingException(String message) {
+        super(message);
+    }
+
+    public AuditMappingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,79 @@
+package com.residentialhub.auditservice.repository;
+
+import com.residentialhub.auditservice.dto.AuditLogRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class AuditLogBatchRepository {
+
+    private static final String INSERT_PREFIX =
+        "INSERT INTO audit_logs (id, user_id, username, action, entity_type, entity_id, old_value, new_value, " +
+        "ip_address, user_agent, society_id, created_at, segment_id) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 13;
+
+    // Keeps each statement well under the driver's bind parameter limit
+    public static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the records in one multi-row statement, tagged with the
+     * segment that seals them. Rows whose id already exists are skipped, so
+     * a batch redelivered after a failed ack or a retry is stored exactly
+     * once. Returns the ids of the rows that were actually inserted.
+     */
+    public List<UUID> insertAll(List<AuditLogRecord> records, long segmentId) {
+        if (records.size() > MAX_ROWS_PER_STATEMENT) {
+            throw new IllegalArgumentException("At most " + MAX_ROWS_PER_STATEMENT + " rows per statement");
+        }
+        return jdbcTemplate.query(insertSql(records.size()), ps -> bind(ps, records, segmentId),
+            (rs, i) -> rs.getObject(1, UUID.class));
+    }
+
+    private String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDERS.length() + 2) + 32);
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        return sql.append(" ON CONFLICT DO NOTHING RETURNING id").toString();
+    }
+
+    private void bind(PreparedStatement ps, List<AuditLogRecord> chunk, long segmentId) throws SQLException {
+        int p = 1;
+        for (AuditLogRecord r : chunk) {
+            ps.setObject(p, r.getId());
+            ps.setString(p + 1, r.getUserId());
+            ps.setString(p + 2, r.getUsername());
+            ps.setString(p + 3, r.getAction());
+            ps.setString(p + 4, r.getEntityType());
+            ps.setString(p + 5, r.getEntityId());
+            ps.setString(p + 6, r.getOldValue());
+            ps.setString(p + 7, r.getNewValue());
+            ps.setString(p + 8, r.getIpAddress());
+            ps.setString(p + 9, r.getUserAgent());
+            if (r.getSocietyId() != null) {
+                ps.setObject(p + 10, r.getSocietyId());
+            } else {
+                ps.setNull(p + 10, Types.OTHER);
+            }
+            ps.setTimestamp(p + 11, Timestamp.valueOf(r.getCreatedAt()));
+            ps.setLong(p + 12, segmentId);
+            p += COLUMNS;
+        }
+    }
+}
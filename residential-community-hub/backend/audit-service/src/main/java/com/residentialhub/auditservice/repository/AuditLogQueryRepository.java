@@ -0,0 +1,133 @@
+package com.residentialhub.auditservice.repository;
+
+import com.residentialhub.auditservice.dto.AuditLogFilter;
+import com.residentialhub.auditservice.dto.AuditLogRecord;
+import com.residentialhub.auditservice.util.AuditCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Repository
+public class AuditLogQueryRepository {
+
+    private static final String SELECT =
+        "SELECT id, user_id, username, action, entity_type, entity_id, old_value, new_value, " +
+        "ip_address, user_agent, society_id, created_at FROM audit_logs";
+    private static final String ORDER = " ORDER BY created_at DESC, id DESC";
+
+    private static final RowMapper<AuditLogRecord> ROW_MAPPER = AuditLogQueryRepository::mapRow;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public AuditLogQueryRepository(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${audit.export.fetch-size:1000}") int exportFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        // The driver only streams with a fetch size inside a transaction;
+        // otherwise it buffers the whole result set in memory
+        JdbcTemplate cursorTemplate = new JdbcTemplate(dataSource);
+        cursorTemplate.setFetchSize(exportFetchSize);
+        this.cursorJdbcTemplate = new NamedParameterJdbcTemplate(cursorTemplate);
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Returns up to {@code limit} rows older than the cursor, newest first.
+     */
+    public List<AuditLogRecord> findPage(AuditLogFilter filter, AuditCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder(SELECT);
+        appendFilter(sql, params, filter);
+        if (after != null) {
+            // The plain bound on created_at lets the planner prune partitions;
+            // the row comparison is what actually resumes the keyset
+            sql.append(" AND created_at <= :cursorCreatedAt AND (created_at, id) < (:cursorCreatedAt, :cursorId)");
+            params.addValue("cursorCreatedAt", Timestamp.valueOf(after.createdAt()));
+            params.addValue("cursorId", after.id());
+        }
+        sql.append(ORDER).append(" LIMIT :limit");
+        params.addValue("limit", limit);
+        return jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+
+    /**
+     * Streams every matching row to the consumer through a server-side
+     * cursor, so memory use does not grow with the size of the result.
+     */
+    public void streamAll(AuditLogFilter filter, Consumer<AuditLogRecord> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder(SELECT);
+        appendFilter(sql, params, filter);
+        sql.append(ORDER);
+
+        readOnlyTransaction.executeWithoutResult(status ->
+            cursorJdbcTemplate.query(sql.toString(), params, rs -> {
+                consumer.accept(mapRow(rs, 0));
+            }));
+    }
+
+    private void appendFilter(StringBuilder sql, MapSqlParameterSource params, AuditLogFilter filter) {
+        sql.append(" WHERE 1 = 1");
+        if (filter.getSocietyId() != null) {
+            sql.append(" AND society_id = :societyId");
+            params.addValue("societyId", filter.getSocietyId());
+        }
+        if (filter.getUserId() != null) {
+            sql.append(" AND user_id = :userId");
+            params.addValue("userId", filter.getUserId());
+        }
+        if (filter.getAction() != null) {
+            sql.append(" AND action = :action");
+            params.addValue("action", filter.getAction());
+        }
+        if (filter.getEntityType() != null) {
+            sql.append(" AND entity_type = :entityType");
+            params.addValue("entityType", filter.getEntityType());
+        }
+        if (filter.getEntityId() != null) {
+            sql.append(" AND entity_id = :entityId");
+            params.addValue("entityId", filter.getEntityId());
+        }
+        if (filter.getFrom() != null) {
+            sql.append(" AND created_at >= :from");
+            params.addValue("from", Timestamp.valueOf(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            sql.append(" AND created_at < :to");
+            params.addValue("to", Timestamp.valueOf(filter.getTo()));
+        }
+    }
+
+    static AuditLogRecord mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return AuditLogRecord.builder()
+            .id(rs.getObject("id", UUID.class))
+            .userId(rs.getString("user_id"))
+            .username(rs.getString("username"))
+            .action(rs.getString("action"))
+            .entityType(rs.getString("entity_type"))
+            .entityId(rs.getString("entity_id"))
+            .oldValue(rs.getString("old_value"))
+            .newValue(rs.getString("new_value"))
+            .ipAddress(rs.getString("ip_address"))
+            .userAgent(rs.getString("user_agent"))
+            .societyId(rs.getObject("society_id", UUID.class))
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.residentialhub.auditservice.repository;
+
+import com.residentialhub.auditservice.dto.AuditLogRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class AuditSegmentRepository {
+
+    private static final String SEGMENT_COLUMNS =
+        "id, chain_seq, row_count, first_created_at, last_created_at, merkle_root, prev_hash, segment_hash";
+
+    private static final String SELECT_COLUMNS = SEGMENT_COLUMNS + ", archived_at IS NOT NULL AS archived";
+
+    private static final RowMapper<SegmentRow> SEGMENT_MAPPER = (rs, i) -> new SegmentRow(
+        rs.getLong("id"),
+        rs.getLong("chain_seq"),
+        rs.getInt("row_count"),
+        rs.getTimestamp("first_created_at").toLocalDateTime(),
+        rs.getTimestamp("last_created_at").toLocalDateTime(),
+        rs.getBytes("merkle_root"),
+        rs.getBytes("prev_hash"),
+        rs.getBytes("segment_hash"),
+        rs.getBoolean("archived"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long nextSegmentId() {
+        return jdbcTemplate.queryForObject("SELECT nextval('audit_segments_id_seq')", Long.class);
+    }
+
+    /**
+     * Serialises chain appends across threads and instances until the
+     * surrounding transaction ends.
+     */
+    public void lockChain() {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('audit:segment-chain'))");
+    }
+
+    public Optional<SegmentRow> findHead() {
+        return jdbcTemplate.query(
+            "SELECT " + SELECT_COLUMNS + " FROM audit_segments ORDER BY chain_seq DESC LIMIT 1", SEGMENT_MAPPER)
+            .stream().findFirst();
+    }
+
+    public Optional<SegmentRow> findByChainSeq(long chainSeq) {
+        return jdbcTemplate.query(
+            "SELECT " + SELECT_COLUMNS + " FROM audit_segments WHERE chain_seq = ?", SEGMENT_MAPPER, chainSeq)
+            .stream().findFirst();
+    }
+
+    public void insert(SegmentRow segment) {
+        jdbcTemplate.update(
+            "INSERT INTO audit_segments (" + SEGMENT_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+            segment.id(), segment.chainSeq(), segment.rowCount(),
+            Timestamp.valueOf(segment.firstCreatedAt()), Timestamp.valueOf(segment.lastCreatedAt()),
+            segment.merkleRoot(), segment.prevHash(), segment.segmentHash());
+    }
+
+    /**
+     * Segments holding any row created in [from, to), in chain order.
+     */
+    public List<SegmentRow> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(
+            "SELECT " + SELECT_COLUMNS + " FROM audit_segments " +
+            "WHERE last_created_at >= ? AND first_created_at < ? ORDER BY chain_seq",
+            SEGMENT_MAPPER, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    /**
+     * Marks the segments holding any row created in [from, to) as archived,
+     * once those rows have been exported and are about to be dropped.
+     */
+    public int markArchived(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.update(
+            "UPDATE audit_segments SET archived_at = CURRENT_TIMESTAMP " +
+            "WHERE archived_at IS NULL AND last_created_at >= ? AND first_created_at < ?",
+            Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    // The time bounds let the planner skip partitions the segment cannot touch
+    public List<AuditLogRecord> findRows(SegmentRow segment) {
+        return jdbcTemplate.query(
+            "SELECT id, user_id, username, action, entity_type, entity_id, old_value, new_value, " +
+            "ip_address, user_agent, society_id, created_at FROM audit_logs " +
+            "WHERE segment_id = ? AND created_at BETWEEN ? AND ?",
+            AuditLogQueryRepository::mapRow,
+            segment.id(), Timestamp.valueOf(segment.firstCreatedAt()), Timestamp.valueOf(segment.lastCreatedAt()));
+    }
+
+    public record SegmentRow(long id, long chainSeq, int rowCount, LocalDateTime firstCreatedAt,
+                             LocalDateTime lastCreatedAt, byte[] merkleRoot, byte[] prevHash, byte[] segmentHash,
+                             boolean archived) {
+    }
+}
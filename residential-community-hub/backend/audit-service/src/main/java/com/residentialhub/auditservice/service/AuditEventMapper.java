@@ -0,0 +1,169 @@
+package com.residentialhub.auditservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.residentialhub.auditservice.dto.AuditLogRecord;
+import com.residentialhub.auditservice.exception.AuditMappingException;
+import com.residentialhub.events.LoginEvent;
+import com.residentialhub.events.VisitorBatchEvent;
+import com.residentialhub.events.VisitorEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Turns a broker message into audit rows. Row ids are derived from the
+ * message id (set by the publisher's outbox), so the same event always maps
+ * to the same ids no matter how often it is delivered.
+ *
+ * created_at is part of the audit_logs primary key, so it has to be just as
+ * stable: it comes from the event itself or the AMQP timestamp, never the
+ * clock at delivery. A message carrying neither is rejected.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditEventMapper {
+
+    private final MessageConverter eventMessageConverter;
+    private final ObjectMapper objectMapper;
+
+    public List<AuditLogRecord> toRecords(Message message) {
+        MessageProperties props = message.getMessageProperties();
+        String messageId = props.getMessageId() != null ? props.getMessageId() : contentId(message);
+        LocalDateTime published = props.getTimestamp() != null
+            ? LocalDateTime.ofInstant(props.getTimestamp().toInstant(), ZoneId.systemDefault())
+            : null;
+
+        Object event;
+        try {
+            event = eventMessageConverter.fromMessage(message);
+        } catch (MessageConversionException e) {
+            // Unknown payload type: keep the raw body if it is readable at all
+            if (!isText(props.getContentType())) {
+                throw new AuditMappingException("Cannot decode event " + messageId, e);
+            }
+            event = new String(message.getBody(), StandardCharsets.UTF_8);
+        }
+
+        if (event instanceof VisitorEvent visitorEvent) {
+            return List.of(fromVisitorEvent(rowId(messageId), visitorEvent, published, messageId));
+        }
+        if (event instanceof VisitorBatchEvent batch) {
+            List<AuditLogRecord> records = new ArrayList<>();
+            List<VisitorEvent> events = batch.getEvents() != null ? batch.getEvents() : List.of();
+            for (int i = 0; i < events.size(); i++) {
+                records.add(fromVisitorEvent(UUID.nameUUIDFromBytes(
+                    (messageId + "#" + i).getBytes(StandardCharsets.UTF_8)), events.get(i), published, messageId));
+            }
+            return records;
+        }
+        if (event instanceof LoginEvent login) {
+            return List.of(AuditLogRecord.builder()
+                .id(rowId(messageId))
+                .userId(truncate(login.getUserId(), 50))
+                .username(truncate(login.getUsername(), 50))
+                .action("USER_LOGIN")
+                .entityType("USER")
+                .entityId(truncate(login.getUserId(), 50))
+                .newValue(toJson(login))
+                .societyId(parseUuid(login.getSocietyId()))
+                .createdAt(createdAt(login.getTimestamp(), published, messageId))
+                .build());
+        }
+        return List.of(fromUnknownEvent(rowId(messageId), props, event, createdAt(null, published, messageId)));
+    }
+
+    private AuditLogRecord fromVisitorEvent(UUID id, VisitorEvent event, LocalDateTime published, String messageId) {
+        return AuditLogRecord.builder()
+            .id(id)
+            // Visitor event types already carry the VISITOR_ prefix
+            .action(truncate(event.getEventType() != null ? event.getEventType() : "VISITOR_EVENT", 100))
+            .entityType("VISITOR")
+            .entityId(truncate(event.getVisitorId(), 50))
+            .newValue(toJson(event))
+            .societyId(parseUuid(event.getSocietyId()))
+            .createdAt(createdAt(event.getTimestamp(), published, messageId))
+            .build();
+    }
+
+    private AuditLogRecord fromUnknownEvent(UUID id, MessageProperties props, Object event, LocalDateTime published) {
+        String routingKey = props.getReceivedRoutingKey() != null ? props.getReceivedRoutingKey() : "unknown";
+        String exchange = props.getReceivedExchange() != null ? props.getReceivedExchange() : "unknown";
+        String entityType = exchange.contains(".") ? exchange.substring(0, exchange.indexOf('.')) : exchange;
+        return AuditLogRecord.builder()
+            .id(id)
+            .action(truncate(routingKey.replace('.', '_').toUpperCase(Locale.ROOT), 100))
+            .entityType(truncate(entityType.toUpperCase(Locale.ROOT), 50))
+            .newValue(event instanceof String raw ? raw : toJson(event))
+            .createdAt(published)
+            .build();
+    }
+
+    private LocalDateTime createdAt(LocalDateTime eventTime, LocalDateTime published, String messageId) {
+        if (eventTime != null) {
+            return eventTime;
+        }
+        if (published == null) {
+            throw new AuditMappingException("Event " + messageId + " has no timestamp");
+        }
+        return published;
+    }
+
+    private UUID rowId(String messageId) {
+        try {
+            return UUID.fromString(messageId);
+        } catch (IllegalArgumentException e) {
+            return UUID.nameUUIDFromBytes(messageId.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // Fallback for publishers that do not set a message id
+    private String contentId(Message message) {
+        MessageProperties props = message.getMessageProperties();
+        byte[] key = (props.getReceivedExchange() + "/" + props.getReceivedRoutingKey() + "/")
+            .getBytes(StandardCharsets.UTF_8);
+        byte[] body = message.getBody();
+        byte[] combined = new byte[key.length + body.length];
+        System.arraycopy(key, 0, combined, 0, key.length);
+        System.arraycopy(body, 0, combined, key.length, body.length);
+        return UUID.nameUUIDFromBytes(combined).toString();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new AuditMappingException("Cannot serialize event " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    private UUID parseUuid(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private String truncate(String value, int max) {
+        return value == null || value.length() <= max ? value : value.substring(0, max);
+    }
+
+    private boolean isText(String contentType) {
+        return contentType != null && (contentType.startsWith("text/") || contentType.contains("json"));
+    }
+}
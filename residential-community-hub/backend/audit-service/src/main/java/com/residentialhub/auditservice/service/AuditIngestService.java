@@ -0,0 +1,274 @@
+package com.residentialhub.auditservice.service;
+
+import com.rabbitmq.client.Channel;
+import com.residentialhub.auditservice.dto.AuditLogRecord;
+import com.residentialhub.auditservice.exception.AuditMappingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Micro-batches audit events from the broker into multi-row inserts.
+ *
+ * Listener threads decode each message and park it in a shared buffer
+ * without acknowledging it. Flush workers take up to {@code batch-size}
+ * messages, or whatever arrived within {@code max-latency-ms} of the oldest
+ * one, insert them in one statement and only then ack. Unacked messages are
+ * capped by the consumer prefetch, which bounds the buffer and pushes back
+ * on the broker when the database falls behind. Inserts are idempotent on
+ * the row id, so a retry or a redelivery never duplicates a row, and each
+ * flush is sealed into hash-chained segments as it is written.
+ */
+@Service
+@Slf4j
+public class AuditIngestService implements SmartLifecycle {
+
+    private final AuditEventMapper mapper;
+    private final AuditSegmentWriter writer;
+    private final BlockingQueue<Pending> buffer = new LinkedBlockingQueue<>();
+
+    private final Counter received;
+    private final Counter stored;
+    private final Counter duplicates;
+    private final Counter retries;
+    private final Counter rejected;
+    private final Timer flushTimer;
+    private final Timer lag;
+    private final DistributionSummary batchSize;
+    private final AtomicLong lastFlushLagMs = new AtomicLong();
+
+    @Value("${audit.ingest.batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${audit.ingest.max-latency-ms:200}")
+    private long maxLatencyMs;
+
+    @Value("${audit.ingest.flush-threads:2}")
+    private int flushThreads;
+
+    @Value("${audit.ingest.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${audit.ingest.retry-backoff-ms:200}")
+    private long retryBackoffMs;
+
+    private ExecutorService flushers;
+    private volatile boolean running;
+
+    public AuditIngestService(AuditEventMapper mapper, AuditSegmentWriter writer, MeterRegistry meterRegistry) {
+        this.mapper = mapper;
+        this.writer = writer;
+
+        this.received = Counter.builder("audit.ingest.received").register(meterRegistry);
+        this.stored = Counter.builder("audit.ingest.stored").description("Audit rows inserted").register(meterRegistry);
+        this.duplicates = Counter.builder("audit.ingest.duplicates")
+            .description("Rows skipped because they were already stored")
+            .register(meterRegistry);
+        this.retries = Counter.builder("audit.ingest.retries").register(meterRegistry);
+        this.rejected = Counter.builder("audit.ingest.rejected")
+            .description("Messages dead-lettered because they could not be stored")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("audit.ingest.flush").register(meterRegistry);
+        this.lag = Timer.builder("audit.ingest.lag")
+            .description("Time from publish to audit row committed")
+            .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("audit.ingest.batch.size").register(meterRegistry);
+        Gauge.builder("audit.ingest.buffered", buffer, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("audit.ingest.last.lag.ms", lastFlushLagMs, AtomicLong::get).register(meterRegistry);
+    }
+
+    @RabbitListener(queues = "#{auditQueue.name}", containerFactory = "auditListenerFactory")
+    public void onMessage(Message message, Channel channel) throws IOException {
+        long tag = message.getMessageProperties().getDeliveryTag();
+        received.increment();
+        List<AuditLogRecord> records;
+        try {
+            records = mapper.toRecords(message);
+        } catch (AuditMappingException e) {
+            log.warn("Dead-lettering undecodable audit event: {}", e.getMessage());
+            rejected.increment();
+            channel.basicReject(tag, false);
+            return;
+        }
+        long publishedAt = message.getMessageProperties().getTimestamp() != null
+            ? message.getMessageProperties().getTimestamp().getTime()
+            : System.currentTimeMillis();
+        buffer.add(new Pending(channel, tag, records, System.currentTimeMillis(), publishedAt));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flushers = Executors.newFixedThreadPool(flushThreads, r -> {
+            Thread t = new Thread(r, "audit-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < flushThreads; i++) {
+            flushers.execute(this::flushLoop);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flushers != null) {
+            flushers.shutdown();
+            try {
+                flushers.awaitTermination(maxLatencyMs * 10, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the listener containers so nothing new is buffered while
+    // the flush workers drain. By then the containers have closed their
+    // channels: the buffered rows are still inserted, but their acks fail and
+    // the broker redelivers them on restart, where the insert skips them as
+    // duplicates (row id and created_at are both derived from the message)
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 1000;
+    }
+
+    private void flushLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                Pending first = buffer.poll(maxLatencyMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = first.bufferedAt() + maxLatencyMs;
+                while (batch.size() < maxBatchSize) {
+                    buffer.drainTo(batch, maxBatchSize - batch.size());
+                    long wait = deadline - System.currentTimeMillis();
+                    if (batch.size() >= maxBatchSize || wait <= 0) {
+                        break;
+                    }
+                    Pending next = buffer.poll(wait, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Audit flush failed unexpectedly", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) throws InterruptedException {
+        List<AuditLogRecord> rows = new ArrayList<>();
+        batch.forEach(p -> rows.addAll(p.records()));
+        batchSize.record(rows.size());
+
+        long backoff = retryBackoffMs;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                int inserted = flushTimer.recordCallable(() -> writer.store(rows));
+                recordStored(batch, rows.size(), inserted);
+                batch.forEach(this::ack);
+                return;
+            } catch (NonTransientDataAccessException e) {
+                // One bad row fails the whole statement; find it instead of retrying
+                log.warn("Audit batch of {} rows rejected, inserting per message: {}", rows.size(), e.getMessage());
+                batch.forEach(this::flushSingle);
+                return;
+            } catch (Exception e) {
+                if (attempt == maxAttempts) {
+                    log.error("Audit batch of {} rows failed after {} attempts, requeueing: {}",
+                        rows.size(), attempt, e.getMessage());
+                    batch.forEach(p -> nack(p, true));
+                    return;
+                }
+                retries.increment();
+                log.warn("Audit batch insert failed (attempt {}), retrying in {} ms: {}", attempt, backoff, e.getMessage());
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, 5000);
+            }
+        }
+    }
+
+    private void flushSingle(Pending pending) {
+        try {
+            int inserted = writer.store(pending.records());
+            recordStored(List.of(pending), pending.records().size(), inserted);
+            ack(pending);
+        } catch (NonTransientDataAccessException e) {
+            log.warn("Dead-lettering audit event that cannot be stored: {}", e.getMessage());
+            rejected.increment();
+            nack(pending, false);
+        } catch (Exception e) {
+            nack(pending, true);
+        }
+    }
+
+    private void recordStored(List<Pending> batch, int rows, int inserted) {
+        stored.increment(inserted);
+        duplicates.increment(rows - inserted);
+        long now = System.currentTimeMillis();
+        long maxLag = 0;
+        for (Pending p : batch) {
+            long ms = Math.max(0, now - p.publishedAt());
+            lag.record(Duration.ofMillis(ms));
+            maxLag = Math.max(maxLag, ms);
+        }
+        lastFlushLagMs.set(maxLag);
+    }
+
+    // A failed ack means the channel is gone; the broker redelivers and the
+    // insert is skipped as a duplicate
+    private void ack(Pending pending) {
+        try {
+            pending.channel().basicAck(pending.deliveryTag(), false);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Ack failed for delivery {}: {}", pending.deliveryTag(), e.getMessage());
+        }
+    }
+
+    private void nack(Pending pending, boolean requeue) {
+        try {
+            pending.channel().basicNack(pending.deliveryTag(), false, requeue);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Nack failed for delivery {}: {}", pending.deliveryTag(), e.getMessage());
+        }
+    }
+
+    private record Pending(Channel channel, long deliveryTag, List<AuditLogRecord> records,
+                           long bufferedAt, long publishedAt) {
+    }
+}
@@ -0,0 +1,173 @@
+package com.residentialhub.auditservice.service;
+
+import com.residentialhub.auditservice.dto.AuditLogRecord;
+import com.residentialhub.auditservice.dto.IntegrityReport;
+import com.residentialhub.auditservice.dto.SegmentViolation;
+import com.residentialhub.auditservice.repository.AuditSegmentRepository;
+import com.residentialhub.auditservice.repository.AuditSegmentRepository.SegmentRow;
+import com.residentialhub.auditservice.util.AuditHashing;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Verifies sealed audit segments for a time range.
+ *
+ * Each segment is checked on its own: its rows are re-hashed into a Merkle
+ * root, and its chain link is checked against the segment before it. The
+ * checks are independent, so the range is split with fork/join and runs on
+ * as many workers as configured; the connection pool has to allow that many
+ * concurrent reads.
+ *
+ * Segments whose month was archived by retention keep their chain link and
+ * hash checks; their rows are in the archive, not the table, so they are
+ * counted as archived instead of reported as missing.
+ */
+@Service
+@Slf4j
+public class AuditIntegrityService {
+
+    private final AuditSegmentRepository segmentRepository;
+    private final ForkJoinPool pool;
+    private final int segmentsPerTask;
+
+    public AuditIntegrityService(AuditSegmentRepository segmentRepository,
+                                 @Value("${audit.integrity.parallelism:4}") int parallelism,
+                                 @Value("${audit.integrity.segments-per-task:4}") int segmentsPerTask) {
+        this.segmentRepository = segmentRepository;
+        this.pool = new ForkJoinPool(parallelism);
+        this.segmentsPerTask = Math.max(1, segmentsPerTask);
+    }
+
+    public IntegrityReport verify(LocalDateTime from, LocalDateTime to) {
+        long started = System.currentTimeMillis();
+        List<SegmentRow> segments = segmentRepository.findOverlapping(from, to);
+
+        Result result = segments.isEmpty() ? new Result() : pool.invoke(new VerifyTask(segments, 0, segments.size()));
+
+        IntegrityReport report = IntegrityReport.builder()
+            .from(from)
+            .to(to)
+            .valid(result.violations.isEmpty())
+            .segmentsChecked(segments.size())
+            .segmentsArchived(result.archived)
+            .rowsChecked(result.rows)
+            .violations(result.violations)
+            .elapsedMs(System.currentTimeMillis() - started)
+            .build();
+        if (!report.isValid()) {
+            log.warn("Audit integrity check {} - {} found {} violations", from, to, result.violations.size());
+        }
+        return report;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private SegmentRow predecessor(List<SegmentRow> segments, int index) {
+        SegmentRow segment = segments.get(index);
+        if (index > 0 && segments.get(index - 1).chainSeq() == segment.chainSeq() - 1) {
+            return segments.get(index - 1);
+        }
+        // Range boundary, or segments in between do not overlap the range
+        return segmentRepository.findByChainSeq(segment.chainSeq() - 1).orElse(null);
+    }
+
+    private void verifySegment(List<SegmentRow> segments, int index, Result result) {
+        SegmentRow segment = segments.get(index);
+
+        byte[] expectedPrev = segment.chainSeq() == 1 ? AuditHashing.GENESIS : null;
+        if (expectedPrev == null) {
+            SegmentRow prev = predecessor(segments, index);
+            if (prev == null) {
+                result.add(segment, "Previous segment " + (segment.chainSeq() - 1) + " is missing");
+            } else {
+                expectedPrev = prev.segmentHash();
+            }
+        }
+        if (expectedPrev != null && !Arrays.equals(expectedPrev, segment.prevHash())) {
+            result.add(segment, "Chain link does not match the previous segment");
+        }
+        byte[] segmentHash = AuditHashing.segmentHash(segment.prevHash(), segment.merkleRoot(),
+            segment.chainSeq(), segment.rowCount());
+        if (!Arrays.equals(segmentHash, segment.segmentHash())) {
+            result.add(segment, "Segment hash does not match its contents");
+        }
+
+        if (segment.archived()) {
+            result.archived++;
+            return;
+        }
+
+        List<AuditLogRecord> rows = segmentRepository.findRows(segment);
+        result.rows += rows.size();
+        if (rows.size() != segment.rowCount()) {
+            result.add(segment, "Expected " + segment.rowCount() + " rows, found " + rows.size());
+            return;
+        }
+        List<byte[]> leaves = new ArrayList<>(rows.size());
+        rows.forEach(r -> leaves.add(AuditHashing.leafHash(r)));
+        if (!Arrays.equals(AuditHashing.merkleRoot(leaves), segment.merkleRoot())) {
+            result.add(segment, "Row contents do not match the sealed Merkle root");
+        }
+    }
+
+    private static final class Result {
+        private final List<SegmentViolation> violations = new ArrayList<>();
+        private long rows;
+        private int archived;
+
+        private void add(SegmentRow segment, String reason) {
+            violations.add(SegmentViolation.builder()
+                .segmentId(segment.id())
+                .chainSeq(segment.chainSeq())
+                .reason(reason)
+                .build());
+        }
+
+        private Result merge(Result other) {
+            violations.addAll(other.violations);
+            rows += other.rows;
+            archived += other.archived;
+            return this;
+        }
+    }
+
+    private final class VerifyTask extends RecursiveTask<Result> {
+        private final List<SegmentRow> segments;
+        private final int from;
+        private final int to;
+
+        private VerifyTask(List<SegmentRow> segments, int from, int to) {
+            this.segments = segments;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= segmentsPerTask) {
+                Result result = new Result();
+                for (int i = from; i < to; i++) {
+                    verifySegment(segments, i, result);
+                }
+                return result;
+            }
+            int mid = (from + to) >>> 1;
+            VerifyTask left = new VerifyTask(segments, from, mid);
+            left.fork();
+            Result right = new VerifyTask(segments, mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
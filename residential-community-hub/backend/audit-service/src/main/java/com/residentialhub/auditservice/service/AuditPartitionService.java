@@ -0,0 +1,162 @@
+package com.residentialhub.auditservice.service;
+
+import com.residentialhub.auditservice.repository.AuditSegmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditPartitionService {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String PARTITION_PREFIX = "audit_logs_p";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final AuditSegmentRepository segmentRepository;
+
+    @Value("${audit.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${audit.retention.enabled:false}")
+    private boolean retentionEnabled;
+
+    @Value("${audit.retention.months:13}")
+    private int retentionMonths;
+
+    @Value("${audit.retention.archive-dir:/var/lib/residentialhub/archive/audit}")
+    private String archiveDir;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensureFuturePartitions();
+    }
+
+    @Scheduled(cron = "${audit.partitions.maintenance-cron:0 15 3 * * *}")
+    public void runMaintenance() {
+        ensureFuturePartitions();
+        if (retentionEnabled) {
+            archiveExpiredPartitions();
+        }
+    }
+
+    public void ensureFuturePartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate monthStart = current.plusMonths(i).atDay(1);
+            try {
+                String name = jdbcTemplate.queryForObject(
+                    "SELECT create_audit_logs_partition(?)", String.class, monthStart);
+                log.debug("Audit partition ready: {}", name);
+            } catch (Exception e) {
+                log.error("Failed to create audit partition for {}: {}", monthStart, e.getMessage());
+            }
+        }
+    }
+
+    public void archiveExpiredPartitions() {
+        YearMonth oldestRetained = YearMonth.now().minusMonths(retentionMonths);
+
+        for (String partition : listMonthlyPartitions()) {
+            if (!monthOf(partition).isBefore(oldestRetained)) {
+                continue;
+            }
+            try {
+                // Detach first: the month stops taking part in queries and the
+                // export reads a table nothing else can touch any more
+                jdbcTemplate.execute("ALTER TABLE audit_logs DETACH PARTITION " + partition);
+                Path archive = archivePartition(partition);
+                log.info("Archived audit partition {} to {}", partition, archive);
+            } catch (Exception e) {
+                log.error("Failed to archive audit partition {}: {}", partition, e.getMessage());
+            }
+        }
+
+        // Months detached by a run that failed before the drop
+        for (String partition : listDetachedPartitions()) {
+            try {
+                Path archive = archivePartition(partition);
+                log.info("Archived detached audit partition {} to {}", partition, archive);
+            } catch (Exception e) {
+                log.error("Failed to archive detached audit partition {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    // Segments are marked before the drop, so a failed drop leaves them
+    // archived with their rows still exported; the next run retries the drop
+    private Path archivePartition(String partition) throws Exception {
+        Path archive = exportPartition(partition);
+        YearMonth month = monthOf(partition);
+        int segments = segmentRepository.markArchived(month.atDay(1).atStartOfDay(),
+            month.plusMonths(1).atDay(1).atStartOfDay());
+        jdbcTemplate.execute("DROP TABLE " + partition);
+        log.debug("Marked {} audit segments of {} as archived", segments, partition);
+        return archive;
+    }
+
+    private YearMonth monthOf(String partition) {
+        return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+    }
+
+    private List<String> listMonthlyPartitions() {
+        return jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = 'audit_logs' AND c.relname ~ '^audit_logs_p[0-9]{6}$' " +
+            "ORDER BY c.relname",
+            String.class);
+    }
+
+    private List<String> listDetachedPartitions() {
+        return jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_class c " +
+            "WHERE c.relkind = 'r' AND c.relname ~ '^audit_logs_p[0-9]{6}$' AND NOT c.relispartition " +
+            "ORDER BY c.relname",
+            String.class);
+    }
+
+    private Path exportPartition(String partition) throws Exception {
+        Path dir = Paths.get(archiveDir);
+        Files.createDirectories(dir);
+        Path target = dir.resolve(partition + ".csv.gz");
+        Path partial = dir.resolve(partition + ".csv.gz.part");
+
+        try (Connection connection = dataSource.getConnection();
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial), 64 * 1024)) {
+            PGConnection pg = connection.unwrap(PGConnection.class);
+            long rows = pg.getCopyAPI().copyOut(
+                "COPY (SELECT * FROM " + partition + " ORDER BY created_at) TO STDOUT WITH (FORMAT csv, HEADER true)",
+                out);
+            log.info("Exported {} rows from {}", rows, partition);
+        } catch (IOException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+
+        return Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,133 @@
+package com.residentialhub.auditservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.residentialhub.auditservice.dto.AuditLogFilter;
+import com.residentialhub.auditservice.dto.AuditLogPage;
+import com.residentialhub.auditservice.dto.AuditLogRecord;
+import com.residentialhub.auditservice.repository.AuditLogQueryRepository;
+import com.residentialhub.auditservice.util.AuditCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditQueryService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String CSV_HEADER =
+        "id,created_at,society_id,user_id,username,action,entity_type,entity_id,ip_address,user_agent,old_value,new_value";
+
+    private final AuditLogQueryRepository queryRepository;
+    private final ObjectMapper objectMapper;
+
+    public AuditLogPage getLogs(AuditLogFilter filter, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        AuditCursor after = cursor != null && !cursor.isBlank() ? AuditCursor.decode(cursor) : null;
+
+        // One extra row tells us whether another page exists
+        List<AuditLogRecord> rows = queryRepository.findPage(filter, after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<AuditLogRecord> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            AuditLogRecord last = items.get(items.size() - 1);
+            nextCursor = new AuditCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return AuditLogPage.builder()
+            .items(items)
+            .nextCursor(nextCursor)
+            .hasMore(hasMore)
+            .build();
+    }
+
+    public void exportCsv(AuditLogFilter filter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long[] rows = {0};
+        try {
+            queryRepository.streamAll(filter, record -> {
+                try {
+                    writeCsvRow(writer, record);
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Client went away mid-download; the cursor is already closed
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("Exported {} audit rows as CSV", rows[0]);
+    }
+
+    public void exportNdjson(AuditLogFilter filter, OutputStream out) throws IOException {
+        long[] rows = {0};
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            queryRepository.streamAll(filter, record -> {
+                try {
+                    writer.write(record);
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            out.write('\n');
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("Exported {} audit rows as NDJSON", rows[0]);
+    }
+
+    private void writeCsvRow(Writer writer, AuditLogRecord r) throws IOException {
+        writer.write(String.valueOf(r.getId()));
+        writer.write(',');
+        writer.write(r.getCreatedAt().toString());
+        writer.write(',');
+        writer.write(r.getSocietyId() != null ? r.getSocietyId().toString() : "");
+        for (String value : new String[] {r.getUserId(), r.getUsername(), r.getAction(), r.getEntityType(),
+            r.getEntityId(), r.getIpAddress(), r.getUserAgent(), r.getOldValue(), r.getNewValue()}) {
+            writer.write(',');
+            writeCsvField(writer, value);
+        }
+        writer.write('\n');
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        // Values come from user input (visitor names, purposes); a leading
+        // formula character would be executed when the file is opened in a
+        // spreadsheet, so it is neutralised with a quote prefix
+        char first = value.charAt(0);
+        boolean formula = first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+        boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+            || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,111 @@
+package com.residentialhub.auditservice.service;
+
+import com.residentialhub.auditservice.dto.AuditLogRecord;
+import com.residentialhub.auditservice.repository.AuditLogBatchRepository;
+import com.residentialhub.auditservice.repository.AuditSegmentRepository;
+import com.residentialhub.auditservice.repository.AuditSegmentRepository.SegmentRow;
+import com.residentialhub.auditservice.util.AuditHashing;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Stores audit rows and seals them into hash-chained segments in the same
+ * transaction, so a committed row is always covered by a segment.
+ *
+ * Rows are inserted and hashed in parallel by every flush worker; only the
+ * final chain append (reading the head and writing the segment rows) runs
+ * under a lock.
+ */
+@Service
+public class AuditSegmentWriter {
+
+    private final AuditLogBatchRepository logRepository;
+    private final AuditSegmentRepository segmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int segmentSize;
+
+    public AuditSegmentWriter(AuditLogBatchRepository logRepository,
+                              AuditSegmentRepository segmentRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${audit.integrity.segment-size:500}") int segmentSize) {
+        this.logRepository = logRepository;
+        this.segmentRepository = segmentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.segmentSize = Math.min(segmentSize, AuditLogBatchRepository.MAX_ROWS_PER_STATEMENT);
+    }
+
+    /**
+     * Inserts the records, skipping ones already stored, and returns how many
+     * were new. A full flush produces full segments; a partial tail becomes
+     * a smaller segment rather than waiting for the next flush.
+     */
+    public int store(List<AuditLogRecord> records) {
+        // The hash covers created_at as stored, and Postgres keeps microseconds
+        records.forEach(r -> r.setCreatedAt(r.getCreatedAt().truncatedTo(ChronoUnit.MICROS)));
+
+        Integer inserted = transactionTemplate.execute(status -> {
+            List<SealedChunk> sealed = new ArrayList<>();
+            for (int from = 0; from < records.size(); from += segmentSize) {
+                SealedChunk chunk = insertChunk(records.subList(from, Math.min(records.size(), from + segmentSize)));
+                if (chunk != null) {
+                    sealed.add(chunk);
+                }
+            }
+            if (sealed.isEmpty()) {
+                return 0;
+            }
+
+            // Held until commit, so heads are read and extended one writer at a time
+            segmentRepository.lockChain();
+            SegmentRow head = segmentRepository.findHead().orElse(null);
+            long chainSeq = head != null ? head.chainSeq() : 0;
+            byte[] prevHash = head != null ? head.segmentHash() : AuditHashing.GENESIS;
+            int total = 0;
+            for (SealedChunk chunk : sealed) {
+                chainSeq++;
+                byte[] segmentHash = AuditHashing.segmentHash(prevHash, chunk.root(), chainSeq, chunk.rowCount());
+                segmentRepository.insert(new SegmentRow(chunk.segmentId(), chainSeq, chunk.rowCount(),
+                    chunk.first(), chunk.last(), chunk.root(), prevHash, segmentHash, false));
+                prevHash = segmentHash;
+                total += chunk.rowCount();
+            }
+            return total;
+        });
+        return inserted != null ? inserted : 0;
+    }
+
+    private SealedChunk insertChunk(List<AuditLogRecord> chunk) {
+        long segmentId = segmentRepository.nextSegmentId();
+        Set<UUID> insertedIds = new HashSet<>(logRepository.insertAll(chunk, segmentId));
+        if (insertedIds.isEmpty()) {
+            return null;
+        }
+
+        // Only rows this statement actually wrote belong to the segment;
+        // duplicates skipped by ON CONFLICT are sealed wherever they were first stored
+        List<byte[]> leaves = new ArrayList<>(insertedIds.size());
+        LocalDateTime first = null;
+        LocalDateTime last = null;
+        for (AuditLogRecord r : chunk) {
+            if (!insertedIds.remove(r.getId())) {
+                continue;
+            }
+            leaves.add(AuditHashing.leafHash(r));
+            first = first == null || r.getCreatedAt().isBefore(first) ? r.getCreatedAt() : first;
+            last = last == null || r.getCreatedAt().isAfter(last) ? r.getCreatedAt() : last;
+        }
+        return new SealedChunk(segmentId, leaves.size(), first, last, AuditHashing.merkleRoot(leaves));
+    }
+
+    private record SealedChunk(long segmentId, int rowCount, LocalDateTime first, LocalDateTime last, byte[] root) {
+    }
+}
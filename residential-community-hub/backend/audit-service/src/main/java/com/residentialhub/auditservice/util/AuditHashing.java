@@ -0,0 +1,112 @@
+package com.residentialhub.auditservice.util;
+
+import com.residentialhub.auditservice.dto.AuditLogRecord;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SHA-256 hashing for sealed audit segments.
+ *
+ * Leaves and inner nodes carry different prefixes so a node can never be
+ * passed off as a row. Leaves are sorted before the tree is built, which
+ * makes the root independent of the order rows are read back in, and an
+ * odd node is carried up unchanged rather than paired with itself.
+ */
+public final class AuditHashing {
+
+    public static final int HASH_LENGTH = 32;
+    public static final byte[] GENESIS = new byte[HASH_LENGTH];
+
+    private static final byte LEAF = 0x00;
+    private static final byte NODE = 0x01;
+    private static final byte SEGMENT = 0x02;
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private AuditHashing() {
+    }
+
+    public static byte[] leafHash(AuditLogRecord r) {
+        MessageDigest digest = SHA256.get();
+        digest.reset();
+        digest.update(LEAF);
+        update(digest, String.valueOf(r.getId()));
+        digest.update(ByteBuffer.allocate(Long.BYTES).putLong(epochMicros(r.getCreatedAt())).array());
+        update(digest, r.getUserId());
+        update(digest, r.getUsername());
+        update(digest, r.getAction());
+        update(digest, r.getEntityType());
+        update(digest, r.getEntityId());
+        update(digest, r.getOldValue());
+        update(digest, r.getNewValue());
+        update(digest, r.getIpAddress());
+        update(digest, r.getUserAgent());
+        update(digest, r.getSocietyId() != null ? r.getSocietyId().toString() : null);
+        return digest.digest();
+    }
+
+    public static byte[] merkleRoot(List<byte[]> leaves) {
+        if (leaves.isEmpty()) {
+            return GENESIS;
+        }
+        List<byte[]> level = new ArrayList<>(leaves);
+        level.sort(Arrays::compareUnsigned);
+        MessageDigest digest = SHA256.get();
+        while (level.size() > 1) {
+            List<byte[]> next = new ArrayList<>((level.size() + 1) / 2);
+            for (int i = 0; i < level.size(); i += 2) {
+                if (i + 1 == level.size()) {
+                    next.add(level.get(i));
+                    continue;
+                }
+                digest.reset();
+                digest.update(NODE);
+                digest.update(level.get(i));
+                digest.update(level.get(i + 1));
+                next.add(digest.digest());
+            }
+            level = next;
+        }
+        return level.get(0);
+    }
+
+    public static byte[] segmentHash(byte[] prevHash, byte[] merkleRoot, long chainSeq, int rowCount) {
+        MessageDigest digest = SHA256.get();
+        digest.reset();
+        digest.update(SEGMENT);
+        digest.update(prevHash);
+        digest.update(merkleRoot);
+        digest.update(ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putLong(chainSeq).putInt(rowCount).array());
+        return digest.digest();
+    }
+
+    // The database keeps microseconds, so that is all the hash may depend on
+    public static long epochMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    // Length-prefixed so adjacent fields cannot be shifted into each other
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(-1).array());
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+}
@@ -0,0 +1,154 @@
+package com.residentialhub.data.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Driver defaults vs the data-access profile (reWriteBatchedInserts,
+ * prepareThreshold=3, larger statement cache) against a real PostgreSQL.
+ *
+ * insertBatch writes 50 visitor-shaped rows per operation, the Hibernate
+ * batch size; lookup is the by-id select every service repeats. Each run
+ * uses its own unlogged table, dropped afterwards.
+ *
+ * java -Djdbc.url=jdbc:postgresql://localhost:5432/residentialhub \
+ *      -Djdbc.user=postgres -Djdbc.password=postgres -jar target/benchmarks.jar \
+ *      -rf json -rff benchmarks/statement-profile.json
+ *
+ * benchmarks/statement-profile.json is that command's output against
+ * PostgreSQL 16.4 on the same host over TCP loopback (1 vCPU, JDK 17). The
+ * error intervals of the two profiles overlap for both benchmarks there: the
+ * driver already pipelines a batch in one round trip, and plans for a by-id
+ * select are cheap. Whatever the profile buys shows up with real network
+ * latency and more complex statements; measure against the deployed database
+ * before relying on it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(2)
+public class StatementProfileBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+    private static final int LOOKUP_ROWS = 10_000;
+
+    @Param({"driver-defaults", "data-access"})
+    public String profile;
+
+    private Connection connection;
+    private String table;
+    private UUID[] ids;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty("user", System.getProperty("jdbc.user", "postgres"));
+        props.setProperty("password", System.getProperty("jdbc.password", "postgres"));
+        if ("data-access".equals(profile)) {
+            props.setProperty("reWriteBatchedInserts", "true");
+            props.setProperty("prepareThreshold", "3");
+            props.setProperty("preparedStatementCacheQueries", "512");
+            props.setProperty("preparedStatementCacheSizeMiB", "8");
+        }
+        connection = DriverManager.getConnection(
+            System.getProperty("jdbc.url", "jdbc:postgresql://localhost:5432/residentialhub"), props);
+
+        table = "bench_visitors_" + UUID.randomUUID().toString().replace("-", "");
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE UNLOGGED TABLE " + table + " (id uuid PRIMARY KEY, host_id uuid NOT NULL, "
+                + "name varchar(100) NOT NULL, phone varchar(20), status varchar(20) NOT NULL, created_at timestamp NOT NULL)");
+        }
+
+        ids = new UUID[LOOKUP_ROWS];
+        for (int i = 0; i < LOOKUP_ROWS; i++) {
+            ids[i] = UUID.randomUUID();
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement ps = connection.prepareStatement(insertSql())) {
+            for (UUID id : ids) {
+                bind(ps, id);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement st = connection.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS " + table);
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int[] insertBatch() throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(insertSql())) {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                bind(ps, UUID.randomUUID());
+                ps.addBatch();
+            }
+            int[] counts = ps.executeBatch();
+            connection.commit();
+            return counts;
+        }
+    }
+
+    @Benchmark
+    public void lookup(Blackhole blackhole) throws SQLException {
+        // A new PreparedStatement per call, as Spring Data does; the driver's
+        // statement cache is what lets it reuse the server-side plan
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT id, host_id, name, phone, status, created_at FROM " + table + " WHERE id = ?")) {
+            ps.setObject(1, ids[ThreadLocalRandom.current().nextInt(LOOKUP_ROWS)]);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    blackhole.consume(rs.getString(3));
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    private String insertSql() {
+        return "INSERT INTO " + table + " (id, host_id, name, phone, status, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    }
+
+    private static void bind(PreparedStatement ps, UUID id) throws SQLException {
+        ps.setObject(1, id);
+        ps.setObject(2, UUID.randomUUID());
+        ps.setString(3, "Rahul Sharma");
+        ps.setString(4, "+919800000000");
+        ps.setString(5, "PENDING");
+        ps.setTimestamp(6, Timestamp.from(Instant.now()));
+    }
+}
@@ -0,0 +1,205 @@
+package com.residentialhub.data;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.metamodel.mapping.BasicValuedModelPart;
+import org.hibernate.metamodel.mapping.ModelPart;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the second-level caches of all instances of a service in step.
+ *
+ * Every instance caches locally. Once a transaction that changed a cached
+ * entity or collection has committed, the instance publishes what changed and
+ * the others drop that entry along with their cached query results. With a
+ * replica in use the entry is dropped a second time after the replica's
+ * allowed lag, on every instance including the writer, since a load in
+ * between may have cached the old row again.
+ */
+@Slf4j
+public class CacheInvalidator implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    private static final String ENTITY = "E";
+    private static final String COLLECTION = "C";
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final Consumer<String> publisher;
+    private final long replayDelayMs;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Counter sent;
+    private final Counter received;
+
+    public CacheInvalidator(SessionFactoryImplementor sessionFactory, Consumer<String> publisher, long replayDelayMs,
+                            MeterRegistry meterRegistry) {
+        this.sessionFactory = sessionFactory;
+        this.publisher = publisher;
+        this.replayDelayMs = replayDelayMs;
+        this.sent = Counter.builder("hibernate.cache.invalidations")
+            .description("Second-level cache invalidations exchanged with the other instances")
+            .tag("direction", "sent")
+            .register(meterRegistry);
+        this.received = Counter.builder("hibernate.cache.invalidations")
+            .description("Second-level cache invalidations exchanged with the other instances")
+            .tag("direction", "received")
+            .register(meterRegistry);
+    }
+
+    public void register() {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        entityChanged(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        entityChanged(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        entityChanged(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Applies an invalidation published by another instance.
+     */
+    public void onMessage(String message) {
+        String[] parts = message.split("\n", 4);
+        if (parts.length < 4 || parts[0].equals(nodeId)) {
+            return;
+        }
+        received.increment();
+        evict(parts[1], parts[2], parts[3]);
+        evictAfterReplayDelay(parts[1], parts[2], parts[3]);
+    }
+
+    private void entityChanged(EventSource session, EntityPersister persister, Object id) {
+        if (persister.canWriteToCache()) {
+            publishAfterCommit(session, ENTITY, persister.getEntityName(), id);
+        }
+    }
+
+    private void collectionChanged(AbstractCollectionEvent event) {
+        String role = event.getCollection().getRole();
+        if (role != null && sessionFactory.getMappingMetamodel().getCollectionDescriptor(role).hasCache()) {
+            publishAfterCommit(event.getSession(), COLLECTION, role, event.getAffectedOwnerIdOrNull());
+        }
+    }
+
+    private void publishAfterCommit(EventSource session, String kind, String name, Object id) {
+        String key = String.valueOf(id);
+        String message = String.join("\n", nodeId, kind, name, key);
+        session.getActionQueue().registerProcess((success, s) -> {
+            if (!success) {
+                return;
+            }
+            // This instance's own reads on the replica can cache the old row too
+            evictAfterReplayDelay(kind, name, key);
+            try {
+                publisher.accept(message);
+                sent.increment();
+            } catch (RuntimeException e) {
+                log.warn("Could not publish invalidation of {} {}; other instances keep it until it expires: {}",
+                    name, id, e.getMessage());
+            }
+        });
+    }
+
+    private void evictAfterReplayDelay(String kind, String name, String id) {
+        if (replayDelayMs > 0) {
+            CompletableFuture.runAsync(() -> evict(kind, name, id),
+                CompletableFuture.delayedExecutor(replayDelayMs, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private void evict(String kind, String name, String id) {
+        Cache cache = sessionFactory.getCache();
+        MappingMetamodel metamodel = sessionFactory.getMappingMetamodel();
+        if (ENTITY.equals(kind)) {
+            EntityPersister persister = metamodel.findEntityDescriptor(name);
+            if (persister != null) {
+                Object key = identifier(persister.getIdentifierMapping(), id);
+                if (key != null) {
+                    cache.evictEntityData(name, key);
+                } else {
+                    cache.evictEntityData(name);
+                }
+            }
+        } else if (COLLECTION.equals(kind)) {
+            CollectionPersister persister = metamodel.findCollectionDescriptor(name);
+            if (persister != null) {
+                Object key = identifier(persister.getAttributeMapping().getKeyDescriptor().getKeyPart(), id);
+                if (key != null) {
+                    cache.evictCollectionData(name, key);
+                } else {
+                    cache.evictCollectionData(name);
+                }
+            }
+        }
+        // Which cached queries the change affects is not known here
+        cache.evictQueryRegions();
+    }
+
+    // Null for composite keys, which evicts the whole region instead
+    private static Object identifier(ModelPart key, String id) {
+        return key instanceof BasicValuedModelPart && !"null".equals(id)
+            ? key.getJavaType().fromString(id)
+            : null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.residentialhub.data;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local Caffeine caches behind Hibernate's second-level and query cache.
+ *
+ * Regions are created up front from data-access.cache, bounded and with a
+ * time to live, and store references rather than serialized copies. A region
+ * Hibernate asks for that is not configured is still created, with a
+ * warning, but unbounded and copying on every read; declare it instead.
+ */
+@Slf4j
+public class CacheRegions implements HibernatePropertiesCustomizer, DisposableBean {
+
+    private final CacheManager cacheManager;
+
+    public CacheRegions(SecondLevelCacheProperties properties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // A manager of its own, so two contexts in one JVM never share regions
+        cacheManager = provider.getCacheManager(URI.create("data-access:" + UUID.randomUUID()),
+            CacheRegions.class.getClassLoader());
+
+        properties.getRegions().forEach((name, region) -> create(name,
+            region.getMaxEntries() != null ? region.getMaxEntries() : properties.getMaxEntries(),
+            region.getTtlSeconds() != null ? region.getTtlSeconds() : properties.getTtlSeconds()));
+        if (cacheManager.getCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME) == null) {
+            create(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, properties.getMaxEntries(),
+                properties.getTtlSeconds());
+        }
+        // Cached query results are only checked against these timestamps, so they must outlive them
+        create(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 0, 0);
+        log.info("Second-level cache regions: {}", cacheManager.getCacheNames());
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+        hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    @Override
+    public void destroy() {
+        cacheManager.close();
+    }
+
+    // Zero leaves the region unbounded or without expiry
+    private void create(String name, long maxEntries, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        if (maxEntries > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        }
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        cacheManager.createCache(name, configuration);
+    }
+}
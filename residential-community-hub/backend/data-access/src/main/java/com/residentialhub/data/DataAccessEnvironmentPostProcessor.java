@@ -0,0 +1,45 @@
+package com.residentialhub.data;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * Adds data-access-defaults.yml behind every other property source, so the
+ * shared pool, driver and Hibernate settings apply unless a service sets its
+ * own.
+ *
+ * With a replica configured, open-in-view is switched off by default: a
+ * request-scoped EntityManager would keep the first transaction's connection,
+ * replica or primary, for every transaction after it in the same request.
+ */
+public class DataAccessEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String DEFAULTS = "data-access-defaults.yml";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        Resource resource = new ClassPathResource(DEFAULTS, DataAccessEnvironmentPostProcessor.class.getClassLoader());
+        try {
+            for (PropertySource<?> source : new YamlPropertySourceLoader().load(DEFAULTS, resource)) {
+                environment.getPropertySources().addLast(source);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load " + DEFAULTS, e);
+        }
+        if (StringUtils.hasText(environment.getProperty("data-access.replica.url"))) {
+            environment.getPropertySources().addLast(new MapPropertySource("data-access-replica",
+                Map.of("spring.jpa.open-in-view", "false")));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.residentialhub.data;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a user's reads on the primary for a short window after they wrote,
+ * so a change is never followed by a stale page from a lagging replica.
+ *
+ * Writes are seen where read-write transactions take their connection; the
+ * user is whoever the current request is for (X-User-Id from the gateway).
+ * The window is per instance: it should be at least the replica's maximum
+ * accepted lag, which bounds staleness for reads that land elsewhere.
+ */
+public class ReadYourWrites {
+
+    private final Supplier<String> currentUser;
+    private final long windowNanos;
+    private final Map<String, Long> lastWrite = new ConcurrentHashMap<>();
+
+    public ReadYourWrites(Supplier<String> currentUser, long windowMs) {
+        this.currentUser = currentUser;
+        this.windowNanos = windowMs * 1_000_000L;
+    }
+
+    public boolean isSticky() {
+        String user = currentUser.get();
+        if (user == null) {
+            return false;
+        }
+        Long at = lastWrite.get(user);
+        return at != null && System.nanoTime() - at < windowNanos;
+    }
+
+    public DataSource trackWrites(DataSource primary) {
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                recordWrite();
+                return super.getConnection();
+            }
+        };
+    }
+
+    void purgeExpired() {
+        long now = System.nanoTime();
+        lastWrite.values().removeIf(at -> now - at >= windowNanos);
+    }
+
+    int size() {
+        return lastWrite.size();
+    }
+
+    private void recordWrite() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        String user = currentUser.get();
+        if (user != null) {
+            lastWrite.put(user, System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.residentialhub.data;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the replica's replay lag and decides whether reads may use it.
+ *
+ * A replica that has replayed everything it received counts as current even
+ * when the primary has been idle (pg_last_xact_replay_timestamp only moves
+ * with new writes). That only holds while its WAL receiver is streaming: a
+ * standby cut off from the primary has also replayed everything it received,
+ * so it is treated as unavailable. Reading the receiver status needs
+ * pg_read_all_stats (or pg_monitor) for the replica user; without it the
+ * replica is never used. Any failure to ask marks the replica unavailable,
+ * which sends reads back to the primary until the next successful check.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements SmartLifecycle {
+
+    static final String LAG_SQL = "SELECT"
+        + " pg_is_in_recovery() AS standby,"
+        + " (SELECT status FROM pg_stat_wal_receiver) AS receiver,"
+        + " CASE"
+        + " WHEN NOT pg_is_in_recovery() THEN 0"
+        + " WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+        + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)"
+        + " END AS lag_ms";
+
+    private static final String STREAMING = "streaming";
+
+    private final DataSource replica;
+    private final ReplicaProperties properties;
+    private final ReadYourWrites readYourWrites;
+    private volatile long lagMs = -1;
+    private volatile boolean usable;
+    private ScheduledExecutorService checker;
+
+    public ReplicaLagMonitor(DataSource replica, ReplicaProperties properties, ReadYourWrites readYourWrites,
+                             MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.properties = properties;
+        this.readYourWrites = readYourWrites;
+
+        Gauge.builder("db.replica.lag", this, m -> m.lagMs)
+            .description("Replica replay lag; -1 when it cannot be reached")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        Gauge.builder("db.replica.usable", this, m -> m.usable ? 1 : 0)
+            .description("1 while read-only transactions may use the replica")
+            .register(meterRegistry);
+        Gauge.builder("db.replica.sticky.users", readYourWrites, ReadYourWrites::size)
+            .description("Users currently held on the primary after a write")
+            .register(meterRegistry);
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    @Override
+    public void start() {
+        checker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-lag-monitor");
+            t.setDaemon(true);
+            return t;
+        });
+        checker.scheduleWithFixedDelay(this::check, 0, properties.getCheckIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (checker != null) {
+            checker.shutdownNow();
+            checker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return checker != null;
+    }
+
+    void check() {
+        readYourWrites.purgeExpired();
+        boolean wasUsable = usable;
+        try (Connection con = replica.getConnection();
+             Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(LAG_SQL)) {
+            rs.next();
+            String receiver = rs.getString("receiver");
+            if (rs.getBoolean("standby") && !STREAMING.equals(receiver)) {
+                lagMs = -1;
+                usable = false;
+                if (wasUsable) {
+                    log.warn("Replica WAL receiver is {}, reading from the primary",
+                        receiver != null ? receiver : "not running or not visible to this user");
+                }
+                return;
+            }
+            lagMs = rs.getLong("lag_ms");
+            usable = lagMs <= properties.getMaxLagMs();
+        } catch (Exception e) {
+            lagMs = -1;
+            usable = false;
+            if (wasUsable) {
+                log.warn("Replica unreachable, reading from the primary: {}", e.getMessage());
+            }
+            return;
+        }
+        if (wasUsable != usable) {
+            if (usable) {
+                log.info("Replica usable (lag {} ms)", lagMs);
+            } else {
+                log.warn("Replica {} ms behind, above {} ms; reading from the primary", lagMs, properties.getMaxLagMs());
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.residentialhub.data;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "data-access.replica")
+public class ReplicaProperties {
+
+    // Empty keeps every connection on the primary
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    // A replica further behind than this is skipped until it catches up
+    private long maxLagMs = 2000;
+
+    private long checkIntervalMs = 1000;
+
+    // After a write, the same user reads from the primary for this long
+    private long stickyWindowMs = 5000;
+}
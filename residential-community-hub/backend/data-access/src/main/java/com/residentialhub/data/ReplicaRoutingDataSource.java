@@ -0,0 +1,62 @@
+package com.residentialhub.data;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Where a read-only connection comes from: the replica, unless it is lagging
+ * or down, or the current user has just written.
+ *
+ * Only consulted for read-only transactions; everything else goes straight
+ * to the primary. db.routing.reads counts the decisions by target and reason.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWrites readYourWrites;
+    private final Counter toReplica;
+    private final Counter replicaUnusable;
+    private final Counter sticky;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        this.toReplica = reads(meterRegistry, "replica", "replica");
+        this.replicaUnusable = reads(meterRegistry, "primary", "replica-unusable");
+        this.sticky = reads(meterRegistry, "primary", "read-your-writes");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!lagMonitor.isUsable()) {
+            replicaUnusable.increment();
+            return Target.PRIMARY;
+        }
+        if (readYourWrites.isSticky()) {
+            sticky.increment();
+            return Target.PRIMARY;
+        }
+        toReplica.increment();
+        return Target.REPLICA;
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("db.routing.reads")
+            .description("Read-only connections by the pool they came from")
+            .tag("target", target)
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,90 @@
+package com.residentialhub.data;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Hibernate second-level and query cache, on while
+ * hibernate.cache.use_second_level_cache is set. Entities and collections opt
+ * in with @Cache, queries with the org.hibernate.cacheable hint. Hit and miss
+ * counts per region come with the hibernate.* meters, which need
+ * hibernate.generate_statistics as well.
+ *
+ * Without Redis each instance only sees its own writes; cached data changed
+ * elsewhere stays until data-access.cache.ttl-seconds runs out.
+ */
+@Slf4j
+@AutoConfiguration(after = {HibernateJpaAutoConfiguration.class, RedisAutoConfiguration.class})
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheAutoConfiguration {
+
+    static final String CHANNEL = "hibernate-cache:";
+
+    @Bean
+    public CacheRegions cacheRegions(SecondLevelCacheProperties properties) {
+        return new CacheRegions(properties);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(StringRedisTemplate.class)
+    @ConditionalOnBean({EntityManagerFactory.class, StringRedisTemplate.class})
+    static class RedisInvalidationConfiguration {
+
+        @Bean
+        public CacheInvalidator cacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                                 StringRedisTemplate redisTemplate,
+                                                 Environment environment,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+            String channel = channel(environment);
+            // Reads may come from a replica up to this far behind
+            long replayDelayMs = StringUtils.hasText(environment.getProperty("data-access.replica.url"))
+                ? environment.getProperty("data-access.replica.max-lag-ms", Long.class, 2000L)
+                : 0;
+            CacheInvalidator invalidator = new CacheInvalidator(entityManagerFactory.unwrap(SessionFactoryImplementor.class),
+                message -> redisTemplate.convertAndSend(channel, message), replayDelayMs,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+            invalidator.register();
+            log.info("Second-level cache invalidations on Redis channel {}", channel);
+            return invalidator;
+        }
+
+        // All instances of a service share a channel; other services cache other data
+        @Bean
+        public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                       CacheInvalidator cacheInvalidator,
+                                                                       Environment environment) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.addMessageListener(
+                (message, pattern) -> cacheInvalidator.onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel(environment)));
+            return container;
+        }
+
+        private static String channel(Environment environment) {
+            return CHANNEL + environment.getProperty("spring.application.name", "application");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.residentialhub.data;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "data-access.cache")
+public class SecondLevelCacheProperties {
+
+    // Per region, unless the region sets its own
+    private long maxEntries = 10000;
+
+    // Upper bound on staleness should an invalidation be lost
+    private long ttlSeconds = 600;
+
+    // Keyed by the region named in @Cache(region = ...)
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+
+        private Long maxEntries;
+
+        private Long ttlSeconds;
+    }
+}
@@ -0,0 +1,119 @@
+package com.residentialhub.events.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.residentialhub.events.LoginEvent;
+import com.residentialhub.events.VisitorEvent;
+import com.residentialhub.events.codec.EventSchemaRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compact layout vs the JSON the services used to send (Jackson with
+ * ISO-8601 dates, as configured by Spring Boot).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private EventSchemaRegistry registry;
+
+    private VisitorEvent visitorEvent;
+    private LoginEvent loginEvent;
+    private byte[] visitorJson;
+    private byte[] visitorCompact;
+    private byte[] loginJson;
+    private byte[] loginCompact;
+
+    @Setup
+    public void setup() throws Exception {
+        objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        registry = EventSchemaRegistry.defaultRegistry();
+
+        visitorEvent = VisitorEvent.builder()
+            .visitorId(UUID.randomUUID().toString())
+            .visitorName("Rahul Sharma")
+            .hostId(UUID.randomUUID().toString())
+            .societyId(UUID.randomUUID().toString())
+            .status("CHECKED_IN")
+            .eventType("VISITOR_CHECKED_IN")
+            .timestamp(LocalDateTime.now())
+            .build();
+        loginEvent = LoginEvent.builder()
+            .userId(UUID.randomUUID().toString())
+            .username("resident.b204")
+            .email("resident.b204@example.com")
+            .role("RESIDENT")
+            .societyId(UUID.randomUUID().toString())
+            .timestamp(LocalDateTime.now())
+            .build();
+
+        visitorJson = objectMapper.writeValueAsBytes(visitorEvent);
+        visitorCompact = registry.encode(visitorEvent);
+        loginJson = objectMapper.writeValueAsBytes(loginEvent);
+        loginCompact = registry.encode(loginEvent);
+
+        System.out.printf("%nVisitorEvent: json=%d bytes, compact=%d bytes%n", visitorJson.length, visitorCompact.length);
+        System.out.printf("LoginEvent:   json=%d bytes, compact=%d bytes%n", loginJson.length, loginCompact.length);
+    }
+
+    @Benchmark
+    public byte[] visitorEncodeJson() throws Exception {
+        return objectMapper.writeValueAsBytes(visitorEvent);
+    }
+
+    @Benchmark
+    public byte[] visitorEncodeCompact() {
+        return registry.encode(visitorEvent);
+    }
+
+    @Benchmark
+    public Object visitorDecodeJson() throws Exception {
+        return objectMapper.readValue(visitorJson, VisitorEvent.class);
+    }
+
+    @Benchmark
+    public Object visitorDecodeCompact() {
+        return registry.decode(visitorCompact);
+    }
+
+    @Benchmark
+    public byte[] loginEncodeJson() throws Exception {
+        return objectMapper.writeValueAsBytes(loginEvent);
+    }
+
+    @Benchmark
+    public byte[] loginEncodeCompact() {
+        return registry.encode(loginEvent);
+    }
+
+    @Benchmark
+    public Object loginDecodeJson() throws Exception {
+        return objectMapper.readValue(loginJson, LoginEvent.class);
+    }
+
+    @Benchmark
+    public Object loginDecodeCompact() {
+        return registry.decode(loginCompact);
+    }
+}
@@ -1,4 +1,4 @@
-package com.residentialhub.userservice.dto;
+package com.residentialhub.events;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
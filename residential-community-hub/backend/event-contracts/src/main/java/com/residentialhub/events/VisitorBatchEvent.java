@@ -0,0 +1,19 @@
+package com.residentialhub.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisitorBatchEvent {
+    private String eventType;
+    private List<VisitorEvent> events;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,57 @@
+package com.residentialhub.events.amqp;
+
+import com.residentialhub.events.codec.EventCodec;
+import com.residentialhub.events.codec.EventCodecException;
+import com.residentialhub.events.codec.EventSchemaRegistry;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+/**
+ * Writes registered event types in the compact binary layout and hands
+ * everything else to the delegate (normally the JSON converter). Incoming
+ * JSON is still accepted, so producers and consumers can switch over
+ * independently.
+ */
+public class CompactEventMessageConverter implements MessageConverter {
+
+    public static final String CONTENT_TYPE = "application/vnd.residentialhub.event";
+    public static final String SCHEMA_HEADER = "x-event-schema";
+    public static final String VERSION_HEADER = "x-event-version";
+
+    private final EventSchemaRegistry registry;
+    private final MessageConverter delegate;
+
+    public CompactEventMessageConverter(EventSchemaRegistry registry, MessageConverter delegate) {
+        this.registry = registry;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) throws MessageConversionException {
+        if (object == null || !registry.supports(object.getClass())) {
+            return delegate.toMessage(object, messageProperties);
+        }
+        EventCodec<?> codec = registry.codecFor(object.getClass());
+        byte[] body = registry.encode(object);
+        messageProperties.setContentType(CONTENT_TYPE);
+        messageProperties.setContentLength(body.length);
+        // Informational only; the body header is authoritative
+        messageProperties.setHeader(SCHEMA_HEADER, codec.schemaId());
+        messageProperties.setHeader(VERSION_HEADER, codec.version());
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) throws MessageConversionException {
+        if (!CONTENT_TYPE.equals(message.getMessageProperties().getContentType())) {
+            return delegate.fromMessage(message);
+        }
+        try {
+            return registry.decode(message.getBody());
+        } catch (EventCodecException e) {
+            throw new MessageConversionException("Failed to decode compact event", e);
+        }
+    }
+}
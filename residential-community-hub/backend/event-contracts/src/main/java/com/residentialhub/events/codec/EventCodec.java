@@ -0,0 +1,18 @@
+package com.residentialhub.events.codec;
+
+/**
+ * Binary layout of one event type. The schema id is permanent; bump the
+ * version when the layout changes and keep reading every older version.
+ */
+public interface EventCodec<T> {
+
+    int schemaId();
+
+    int version();
+
+    Class<T> type();
+
+    void write(T event, EventWriter writer);
+
+    T read(EventReader reader, int version);
+}
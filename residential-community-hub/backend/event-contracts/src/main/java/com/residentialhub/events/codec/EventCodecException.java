@@ -0,0 +1,7 @@
+package com.residentialhub.events.codec;
+
+public class EventCodecException extends RuntimeException {
+    public EventCodecException(String message) {
+        super(message);
+    }
+}
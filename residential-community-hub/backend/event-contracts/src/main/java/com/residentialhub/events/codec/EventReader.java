@@ -0,0 +1,126 @@
+package com.residentialhub.events.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+public final class EventReader {
+
+    private final byte[] buffer;
+    private int position;
+
+    public EventReader(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    public int readByte() {
+        check(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    public long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new EventCodecException("Malformed varint");
+    }
+
+    public int readVarInt() {
+        long value = readVarLong();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new EventCodecException("Varint out of int range: " + Long.toUnsignedString(value));
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads an element count. Every element takes at least one byte, so a
+     * count larger than what is left of the payload is rejected before the
+     * caller sizes anything from it.
+     */
+    public int readCount() {
+        int count = readVarInt();
+        if (count > remaining()) {
+            throw new EventCodecException("Count " + count + " exceeds remaining " + remaining() + " bytes");
+        }
+        return count;
+    }
+
+    public String readString() {
+        int length = readVarInt();
+        if (length == 0) {
+            return null;
+        }
+        int size = length - 1;
+        check(size);
+        String value = new String(buffer, position, size, StandardCharsets.UTF_8);
+        position += size;
+        return value;
+    }
+
+    public String readId() {
+        int tag = readByte();
+        switch (tag) {
+            case EventWriter.ID_NULL:
+                return null;
+            case EventWriter.ID_UUID:
+                return new UUID(readFixedLong(), readFixedLong()).toString();
+            case EventWriter.ID_TEXT:
+                return readString();
+            default:
+                throw new EventCodecException("Unknown id tag " + tag);
+        }
+    }
+
+    public String readSymbol(String[] dictionary) {
+        int code = readByte();
+        if (code == 0) {
+            return null;
+        }
+        if (code == EventWriter.SYMBOL_LITERAL) {
+            return readString();
+        }
+        if (code > dictionary.length) {
+            throw new EventCodecException("Unknown symbol " + code);
+        }
+        return dictionary[code - 1];
+    }
+
+    public LocalDateTime readTimestamp() {
+        long value = readVarLong();
+        if (value == 0) {
+            return null;
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(value - 1), ZoneOffset.UTC);
+    }
+
+    public boolean hasRemaining() {
+        return position < buffer.length;
+    }
+
+    public int remaining() {
+        return buffer.length - position;
+    }
+
+    private long readFixedLong() {
+        check(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    private void check(int size) {
+        if (size > remaining()) {
+            throw new EventCodecException("Truncated event payload");
+        }
+    }
+}
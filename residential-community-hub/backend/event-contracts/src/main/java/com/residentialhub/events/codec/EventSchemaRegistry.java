@@ -0,0 +1,78 @@
+package com.residentialhub.events.codec;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps event classes to schema ids and back.
+ *
+ * Encoded layout: magic byte, schema id (varint), version (varint), body.
+ * The header makes a payload self-describing, so it can be decoded from a
+ * queue, the outbox table or an archive without any side channel.
+ */
+public class EventSchemaRegistry {
+
+    public static final int MAGIC = 0xCE;
+
+    private final Map<Integer, EventCodec<?>> bySchemaId = new HashMap<>();
+    private final Map<Class<?>, EventCodec<?>> byType = new HashMap<>();
+
+    public static EventSchemaRegistry defaultRegistry() {
+        return new EventSchemaRegistry()
+            .register(new VisitorEventCodec())
+            .register(new VisitorBatchEventCodec())
+            .register(new LoginEventCodec());
+    }
+
+    public EventSchemaRegistry register(EventCodec<?> codec) {
+        EventCodec<?> existing = bySchemaId.putIfAbsent(codec.schemaId(), codec);
+        if (existing != null && existing != codec) {
+            throw new IllegalStateException("Schema id " + codec.schemaId() + " already registered for "
+                + existing.type().getName());
+        }
+        byType.put(codec.type(), codec);
+        return this;
+    }
+
+    public boolean supports(Class<?> type) {
+        return byType.containsKey(type);
+    }
+
+    public EventCodec<?> codecFor(Class<?> type) {
+        EventCodec<?> codec = byType.get(type);
+        if (codec == null) {
+            throw new EventCodecException("No schema registered for " + type.getName());
+        }
+        return codec;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> byte[] encode(T event) {
+        EventCodec<T> codec = (EventCodec<T>) codecFor(event.getClass());
+        EventWriter writer = new EventWriter(128);
+        writer.writeByte(MAGIC);
+        writer.writeVarLong(codec.schemaId());
+        writer.writeVarLong(codec.version());
+        codec.write(event, writer);
+        return writer.toByteArray();
+    }
+
+    public Object decode(byte[] payload) {
+        EventReader reader = new EventReader(payload);
+        if (reader.readByte() != MAGIC) {
+            throw new EventCodecException("Not a compact event payload");
+        }
+        int schemaId = reader.readVarInt();
+        int version = reader.readVarInt();
+
+        EventCodec<?> codec = bySchemaId.get(schemaId);
+        if (codec == null) {
+            throw new EventCodecException("Unknown schema id " + schemaId);
+        }
+        if (version > codec.version()) {
+            throw new EventCodecException("Schema " + schemaId + " version " + version
+                + " is newer than supported version " + codec.version());
+        }
+        return codec.read(reader, version);
+    }
+}
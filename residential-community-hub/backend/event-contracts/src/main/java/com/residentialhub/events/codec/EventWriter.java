@@ -0,0 +1,119 @@
+package com.residentialhub.events.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Append-only byte buffer for the compact event layout.
+ *
+ * Integers are unsigned LEB128 varints. Nullable values reserve 0 for null,
+ * so present values are written shifted by one.
+ */
+public final class EventWriter {
+
+    static final int ID_NULL = 0;
+    static final int ID_UUID = 1;
+    static final int ID_TEXT = 2;
+    static final int SYMBOL_LITERAL = 0xFF;
+
+    private byte[] buffer;
+    private int position;
+
+    public EventWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    public void writeByte(int value) {
+        ensure(1);
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    // Ids are UUIDs almost everywhere; 16 raw bytes instead of 36 characters
+    public void writeId(String value) {
+        if (value == null) {
+            writeByte(ID_NULL);
+            return;
+        }
+        if (value.length() == 36) {
+            try {
+                UUID uuid = UUID.fromString(value);
+                if (uuid.toString().equals(value)) {
+                    writeByte(ID_UUID);
+                    writeFixedLong(uuid.getMostSignificantBits());
+                    writeFixedLong(uuid.getLeastSignificantBits());
+                    return;
+                }
+            } catch (IllegalArgumentException ignored) {
+                // not a canonical UUID, fall through to text
+            }
+        }
+        writeByte(ID_TEXT);
+        writeString(value);
+    }
+
+    // Known values become a one-byte index into the schema's dictionary
+    public void writeSymbol(String value, String[] dictionary) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        for (int i = 0; i < dictionary.length; i++) {
+            if (dictionary[i].equals(value)) {
+                writeByte(i + 1);
+                return;
+            }
+        }
+        writeByte(SYMBOL_LITERAL);
+        writeString(value);
+    }
+
+    // Millisecond precision, interpreted as UTC on both ends
+    public void writeTimestamp(LocalDateTime value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        writeVarLong(value.toInstant(ZoneOffset.UTC).toEpochMilli() + 1);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void writeFixedLong(long value) {
+        ensure(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void ensure(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.residentialhub.events.codec;
+
+import com.residentialhub.events.LoginEvent;
+
+public class LoginEventCodec implements EventCodec<LoginEvent> {
+
+    public static final int SCHEMA_ID = 3;
+
+    // Append only: codes are positions in this array
+    static final String[] ROLES = {
+        "PROJECT_OWNER", "SOCIETY_ADMIN", "SOCIETY_WORKER", "RESIDENT", "SECURITY"
+    };
+
+    @Override
+    public int schemaId() {
+        return SCHEMA_ID;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<LoginEvent> type() {
+        return LoginEvent.class;
+    }
+
+    @Override
+    public void write(LoginEvent event, EventWriter writer) {
+        writer.writeId(event.getUserId());
+        writer.writeString(event.getUsername());
+        writer.writeString(event.getEmail());
+        writer.writeSymbol(event.getRole(), ROLES);
+        writer.writeId(event.getSocietyId());
+        writer.writeTimestamp(event.getTimestamp());
+    }
+
+    @Override
+    public LoginEvent read(EventReader reader, int version) {
+        return LoginEvent.builder()
+            .userId(reader.readId())
+            .username(reader.readString())
+            .email(reader.readString())
+            .role(reader.readSymbol(ROLES))
+            .societyId(reader.readId())
+            .timestamp(reader.readTimestamp())
+            .build();
+    }
+}
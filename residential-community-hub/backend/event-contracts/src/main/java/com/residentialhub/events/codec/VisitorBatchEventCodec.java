@@ -0,0 +1,57 @@
+package com.residentialhub.events.codec;
+
+import com.residentialhub.events.VisitorBatchEvent;
+import com.residentialhub.events.VisitorEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class VisitorBatchEventCodec implements EventCodec<VisitorBatchEvent> {
+
+    public static final int SCHEMA_ID = 2;
+
+    private final VisitorEventCodec itemCodec = new VisitorEventCodec();
+
+    @Override
+    public int schemaId() {
+        return SCHEMA_ID;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<VisitorBatchEvent> type() {
+        return VisitorBatchEvent.class;
+    }
+
+    @Override
+    public void write(VisitorBatchEvent event, EventWriter writer) {
+        writer.writeSymbol(event.getEventType(), VisitorEventCodec.EVENT_TYPES);
+        writer.writeTimestamp(event.getTimestamp());
+        List<VisitorEvent> items = event.getEvents() != null ? event.getEvents() : List.of();
+        writer.writeVarLong(items.size());
+        for (VisitorEvent item : items) {
+            itemCodec.write(item, writer);
+        }
+    }
+
+    @Override
+    public VisitorBatchEvent read(EventReader reader, int version) {
+        String eventType = reader.readSymbol(VisitorEventCodec.EVENT_TYPES);
+        LocalDateTime timestamp = reader.readTimestamp();
+        int size = reader.readCount();
+        List<VisitorEvent> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(itemCodec.read(reader, version));
+        }
+        return VisitorBatchEvent.builder()
+            .eventType(eventType)
+            .timestamp(timestamp)
+            .events(items)
+            .build();
+    }
+}
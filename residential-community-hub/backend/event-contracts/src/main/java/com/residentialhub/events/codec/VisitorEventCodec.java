@@ -0,0 +1,55 @@
+package com.residentialhub.events.codec;
+
+import com.residentialhub.events.VisitorEvent;
+
+public class VisitorEventCodec implements EventCodec<VisitorEvent> {
+
+    public static final int SCHEMA_ID = 1;
+
+    // Append only: codes are positions in these arrays
+    static final String[] STATUSES = {
+        "PENDING", "APPROVED", "REJECTED", "CHECKED_IN", "CHECKED_OUT"
+    };
+    static final String[] EVENT_TYPES = {
+        "VISITOR_CREATED", "VISITOR_APPROVED", "VISITOR_REJECTED", "VISITOR_CHECKED_IN", "VISITOR_CHECKED_OUT"
+    };
+
+    @Override
+    public int schemaId() {
+        return SCHEMA_ID;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<VisitorEvent> type() {
+        return VisitorEvent.class;
+    }
+
+    @Override
+    public void write(VisitorEvent event, EventWriter writer) {
+        writer.writeId(event.getVisitorId());
+        writer.writeString(event.getVisitorName());
+        writer.writeId(event.getHostId());
+        writer.writeId(event.getSocietyId());
+        writer.writeSymbol(event.getStatus(), STATUSES);
+        writer.writeSymbol(event.getEventType(), EVENT_TYPES);
+        writer.writeTimestamp(event.getTimestamp());
+    }
+
+    @Override
+    public VisitorEvent read(EventReader reader, int version) {
+        return VisitorEvent.builder()
+            .visitorId(reader.readId())
+            .visitorName(reader.readString())
+            .hostId(reader.readId())
+            .societyId(reader.readId())
+            .status(reader.readSymbol(STATUSES))
+            .eventType(reader.readSymbol(EVENT_TYPES))
+            .timestamp(reader.readTimestamp())
+            .build();
+    }
+}
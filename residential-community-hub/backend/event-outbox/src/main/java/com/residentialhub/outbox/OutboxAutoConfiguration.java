@@ -0,0 +1,51 @@
+package com.residentialhub.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@AutoConfiguration(after = {RabbitAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+@EnableConfigurationProperties(OutboxProperties.class)
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", matchIfMissing = true)
+public class OutboxAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxPublisher outboxPublisher(JdbcTemplate jdbcTemplate,
+                                           RabbitTemplate rabbitTemplate,
+                                           ObjectMapper objectMapper,
+                                           OutboxProperties properties,
+                                           @Value("${spring.application.name}") String applicationName,
+                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        return new OutboxPublisher(jdbcTemplate, rabbitTemplate.getMessageConverter(), objectMapper,
+            source(properties, applicationName),
+            meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxRelay outboxRelay(JdbcTemplate jdbcTemplate,
+                                   RabbitTemplate rabbitTemplate,
+                                   ObjectMapper objectMapper,
+                                   OutboxProperties properties,
+                                   @Value("${spring.application.name}") String applicationName,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new OutboxRelay(jdbcTemplate, rabbitTemplate, objectMapper, properties,
+            source(properties, applicationName), meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    private static String source(OutboxProperties properties, String applicationName) {
+        return properties.getSource() != null ? properties.getSource() : applicationName;
+    }
+}
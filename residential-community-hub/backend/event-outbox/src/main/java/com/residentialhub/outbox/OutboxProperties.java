@@ -0,0 +1,26 @@
+package com.residentialhub.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+
+    private boolean enabled = true;
+
+    // Defaults to spring.application.name; rows are only relayed by the service that wrote them
+    private String source;
+
+    private int batchSize = 200;
+
+    private long pollIntervalMs = 250;
+
+    private long confirmTimeoutMs = 5000;
+
+    // Must outlast one batch (publish plus confirm); another instance takes over when it expires
+    private long leaseMs = 30000;
+
+    // A row that fails this many times on its own is parked (parked_at set) and skipped
+    private int maxAttempts = 10;
+}
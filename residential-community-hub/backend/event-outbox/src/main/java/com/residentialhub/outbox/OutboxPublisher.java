@@ -0,0 +1,67 @@
+package com.residentialhub.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Records a domain event in the outbox table as part of the caller's
+ * transaction. The event only becomes visible to {@link OutboxRelay} once the
+ * business change commits, and is never lost if the broker is unavailable.
+ *
+ * The payload is serialized up front with the service's AMQP message
+ * converter, so the stored bytes are exactly what goes on the wire.
+ */
+public class OutboxPublisher {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO outbox_events (source, aggregate_type, aggregate_id, exchange, routing_key, payload_type, " +
+        "payload, content_type, headers) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MessageConverter messageConverter;
+    private final ObjectMapper objectMapper;
+    private final String source;
+    private final Counter recorded;
+
+    public OutboxPublisher(JdbcTemplate jdbcTemplate, MessageConverter messageConverter, ObjectMapper objectMapper,
+                           String source, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.messageConverter = messageConverter;
+        this.objectMapper = objectMapper;
+        this.source = source;
+        this.recorded = Counter.builder("outbox.events.recorded")
+            .tag("source", source)
+            .register(meterRegistry);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String exchange, String routingKey, String aggregateType, String aggregateId, Object payload) {
+        Message message = messageConverter.toMessage(payload, new MessageProperties());
+        MessageProperties props = message.getMessageProperties();
+
+        jdbcTemplate.update(INSERT_SQL, source, aggregateType, aggregateId, exchange, routingKey,
+            payload.getClass().getName(), message.getBody(), props.getContentType(), writeHeaders(props.getHeaders()));
+        recorded.increment();
+    }
+
+    private String writeHeaders(Map<String, Object> headers) {
+        if (headers.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(headers);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Message headers are not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.residentialhub.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import com.rabbitmq.client.ShutdownSignalException;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the outbox in id order and publishes each batch on one channel,
+ * waiting for broker confirms before deleting the rows.
+ *
+ * Only one relay per source runs at a time (a lease row in
+ * outbox_relay_leases), which keeps events of the same aggregate in commit
+ * order across instances. Each batch is claim, publish, confirm, delete: the
+ * confirm wait holds no transaction, row lock or connection. The lease has to
+ * outlive one batch; if its holder dies, another instance takes over once it
+ * expires.
+ *
+ * Delivery is at-least-once: a batch that is not confirmed stays in the table
+ * and is sent again, with the same message id. A failed batch is split in
+ * half and retried in order, so the rows ahead of a bad event still go out
+ * and the drain stops at the first row that fails on its own. Only that row
+ * is charged an attempt, and it is parked after outbox.max-attempts so it
+ * cannot block the source. Failures of the broker rather than the event (no
+ * connection, confirm timeout) charge nothing and only back off the relay.
+ */
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final TypeReference<Map<String, Object>> HEADERS_TYPE = new TypeReference<>() {
+    };
+
+    private static final String SELECT_SQL =
+        "SELECT id, event_id, exchange, routing_key, payload, content_type, headers, attempts, created_at " +
+        "FROM outbox_events " +
+        "WHERE source = ? AND parked_at IS NULL ORDER BY id LIMIT ?";
+
+    // Takes the lease when free or expired, renews it when already ours
+    private static final String LEASE_SQL =
+        "INSERT INTO outbox_relay_leases (source, owner, expires_at) " +
+        "VALUES (?, ?, CURRENT_TIMESTAMP + ? * INTERVAL '1 millisecond') " +
+        "ON CONFLICT (source) DO UPDATE SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at " +
+        "WHERE outbox_relay_leases.owner = EXCLUDED.owner OR outbox_relay_leases.expires_at < CURRENT_TIMESTAMP";
+
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+    private final String source;
+    private final String owner = UUID.randomUUID().toString();
+
+    private final Counter published;
+    private final Counter failures;
+    private final Counter parked;
+    private final Timer batchTimer;
+    private final Timer endToEndLatency;
+    private final AtomicLong lastBatchSize = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+    private volatile long retryAfter;
+    // Polls in a row that ended in a failure; only touched by the relay thread
+    private int failedPolls;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, RabbitTemplate rabbitTemplate, ObjectMapper objectMapper,
+                       OutboxProperties properties, String source, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.source = source;
+
+        this.published = Counter.builder("outbox.events.published").tag("source", source).register(meterRegistry);
+        this.failures = Counter.builder("outbox.relay.failures").tag("source", source).register(meterRegistry);
+        this.parked = Counter.builder("outbox.events.parked").tag("source", source).register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch").tag("source", source).register(meterRegistry);
+        this.endToEndLatency = Timer.builder("outbox.events.latency")
+            .description("Time from outbox insert to broker confirm")
+            .tag("source", source)
+            .register(meterRegistry);
+        Gauge.builder("outbox.relay.last.batch.size", lastBatchSize, AtomicLong::get)
+            .tag("source", source)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "outbox-relay");
+            t.setDaemon(true);
+            return t;
+        });
+        running = true;
+        scheduler.scheduleWithFixedDelay(this::drain, properties.getPollIntervalMs(),
+            properties.getPollIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        try {
+            // Let another instance take over now rather than when the lease expires
+            jdbcTemplate.update("DELETE FROM outbox_relay_leases WHERE source = ? AND owner = ?", source, owner);
+        } catch (Exception e) {
+            log.debug("Could not release outbox lease for {}: {}", source, e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void drain() {
+        if (System.currentTimeMillis() < retryAfter) {
+            return;
+        }
+        try {
+            // Keep going while batches come back full so a backlog clears quickly
+            int sent;
+            do {
+                sent = relayBatch();
+            } while (running && sent == properties.getBatchSize());
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("Outbox relay for {} failed: {}", source, e.getMessage());
+        }
+    }
+
+    int relayBatch() {
+        if (jdbcTemplate.update(LEASE_SQL, source, owner, properties.getLeaseMs()) == 0) {
+            return 0;
+        }
+
+        List<OutboxRow> rows = jdbcTemplate.query(SELECT_SQL, (rs, i) -> new OutboxRow(
+            rs.getLong("id"),
+            rs.getString("event_id"),
+            rs.getString("exchange"),
+            rs.getString("routing_key"),
+            rs.getBytes("payload"),
+            rs.getString("content_type"),
+            rs.getString("headers"),
+            rs.getInt("attempts"),
+            rs.getTimestamp("created_at")), source, properties.getBatchSize());
+        lastBatchSize.set(rows.size());
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            // A head that failed before goes first on its own, so a poison
+            // event costs one send per retry rather than a full bisection
+            int sent = rows.get(0).attempts() > 0 && rows.size() > 1
+                ? publish(rows.subList(0, 1)) + publish(rows.subList(1, rows.size()))
+                : publish(rows);
+            failedPolls = 0;
+            return sent;
+        } catch (UndeliveredException e) {
+            // Rows from the failed one on stay queued and go out again once the back-off has passed
+            failures.increment();
+            RuntimeException cause = e.getCause();
+            if (e.row != null && !brokerFailure(cause)) {
+                markFailed(e.row, cause);
+            }
+            failedPolls++;
+            retryAfter = System.currentTimeMillis()
+                + Math.min(properties.getPollIntervalMs() << Math.min(failedPolls, 16), MAX_BACKOFF_MS);
+            log.warn("Outbox event {} for {} not confirmed: {}",
+                e.row != null ? e.row.eventId() : "batch", source, cause.getMessage());
+            return 0;
+        }
+    }
+
+    // Publishes rows in order and deletes the confirmed ones. A batch that fails
+    // is halved and each half retried, stopping at the first half that still
+    // fails; the row that fails alone is reported. When the broker itself is
+    // gone there is nothing to isolate, so the split is skipped.
+    private int publish(List<OutboxRow> rows) {
+        try {
+            batchTimer.record(() -> sendAndConfirm(rows));
+        } catch (RuntimeException e) {
+            if (rows.size() == 1) {
+                throw new UndeliveredException(rows.get(0), e);
+            }
+            if (brokerFailure(e)) {
+                throw new UndeliveredException(null, e);
+            }
+            int mid = rows.size() / 2;
+            return publish(rows.subList(0, mid)) + publish(rows.subList(mid, rows.size()));
+        }
+
+        String ids = rows.stream().map(r -> String.valueOf(r.id())).collect(Collectors.joining(","));
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE id IN (" + ids + ")");
+
+        long now = System.currentTimeMillis();
+        rows.forEach(r -> endToEndLatency.record(Duration.ofMillis(now - r.createdAt().getTime())));
+        published.increment(rows.size());
+        return rows.size();
+    }
+
+    // Lost connections and confirm timeouts say nothing about the events. A
+    // channel the broker closes (an unknown exchange, say) is about what was
+    // sent on it, even though Spring reports it as a connect exception too.
+    private static boolean brokerFailure(RuntimeException e) {
+        if (e instanceof AmqpTimeoutException) {
+            return true;
+        }
+        if (e instanceof AmqpConnectException) {
+            return !(e.getCause() instanceof ShutdownSignalException shutdown) || shutdown.isHardError();
+        }
+        return false;
+    }
+
+    private void sendAndConfirm(List<OutboxRow> rows) {
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxRow row : rows) {
+                operations.send(row.exchange(), row.routingKey(), toMessage(row));
+            }
+            operations.waitForConfirmsOrDie(properties.getConfirmTimeoutMs());
+            return null;
+        });
+    }
+
+    private Message toMessage(OutboxRow row) {
+        MessageProperties props = new MessageProperties();
+        props.setContentType(row.contentType());
+        props.setContentLength(row.payload().length);
+        props.setMessageId(row.eventId());
+        props.setAppId(source);
+        props.setTimestamp(row.createdAt());
+        if (row.headers() != null) {
+            try {
+                objectMapper.readValue(row.headers(), HEADERS_TYPE).forEach(props::setHeader);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Corrupt headers on outbox event " + row.id(), e);
+            }
+        }
+        return new Message(row.payload(), props);
+    }
+
+    private void markFailed(OutboxRow row, Exception e) {
+        String error = String.valueOf(e.getMessage());
+        String truncated = error.length() > 500 ? error.substring(0, 500) : error;
+        jdbcTemplate.update(
+            "UPDATE outbox_events SET attempts = attempts + 1, last_error = ? WHERE id = ?", truncated, row.id());
+
+        if (row.attempts() + 1 >= properties.getMaxAttempts()) {
+            jdbcTemplate.update("UPDATE outbox_events SET parked_at = CURRENT_TIMESTAMP WHERE id = ?", row.id());
+            parked.increment();
+            log.error("Parked outbox event {} ({} -> {}/{}) after {} attempts: {}", row.eventId(), source,
+                row.exchange(), row.routingKey(), row.attempts() + 1, truncated);
+        }
+    }
+
+    private record OutboxRow(long id, String eventId, String exchange, String routingKey,
+                             byte[] payload, String contentType, String headers, int attempts,
+                             Timestamp createdAt) {
+    }
+
+    // Stops a publish at the first undelivered row; row is null when the
+    // broker failed before a single row could be singled out
+    private static final class UndeliveredException extends RuntimeException {
+
+        private final transient OutboxRow row;
+
+        UndeliveredException(OutboxRow row, RuntimeException cause) {
+            super(cause);
+            this.row = row;
+        }
+
+        @Override
+        public synchronized RuntimeException getCause() {
+            return (RuntimeException) super.getCause();
+        }
+    }
+}
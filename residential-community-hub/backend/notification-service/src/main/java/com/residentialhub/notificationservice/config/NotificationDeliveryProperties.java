@@ -0,0 +1,40 @@
+package com.residentialhub.notificationservice.config;
+
+import com.residentialhub.notificationservice.service.DeliveryChannel;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "notification.delivery")
+public class NotificationDeliveryProperties {
+
+    private Map<DeliveryChannel, ChannelProperties> channels = new EnumMap<>(DeliveryChannel.class);
+
+    public ChannelProperties forChannel(DeliveryChannel channel) {
+        return channels.getOrDefault(channel, new ChannelProperties());
+    }
+
+    @Data
+    public static class ChannelProperties {
+
+        private int workers = 2;
+
+        // Batches waiting for a worker; the audience reader blocks when full
+        private int queueCapacity = 100;
+
+        // Recipients handed to the sender in one call
+        private int batchSize = 100;
+
+        private double ratePerSecond = 100;
+
+        private int maxAttempts = 3;
+
+        // Doubled after every failed attempt
+        private long backoffMs = 1000;
+
+        private long maxBackoffMs = 60000;
+    }
+}
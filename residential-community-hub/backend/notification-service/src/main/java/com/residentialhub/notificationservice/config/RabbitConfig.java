@@ -0,0 +1,72 @@
+package com.residentialhub.notificationservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.residentialhub.events.amqp.CompactEventMessageConverter;
+import com.residentialhub.events.codec.EventSchemaRegistry;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(NotificationDeliveryProperties.class)
+public class RabbitConfig {
+
+    public static final String NOTIFICATION_EXCHANGE = "notification.exchange";
+    public static final String FANOUT_QUEUE = "notification.fanout";
+    public static final String FANOUT_ROUTING_KEY = "notification.fanout";
+    public static final String PUSH_EXCHANGE = "push.exchange";
+    public static final String VISITOR_EXCHANGE = "visitor.exchange";
+    public static final String VISITOR_DIGEST_QUEUE = "notification.visitor-digest";
+
+    // Visitor events arrive in the compact binary layout; fan-out requests
+    // and push messages stay JSON
+    @Bean
+    public MessageConverter eventMessageConverter(ObjectMapper objectMapper) {
+        return new CompactEventMessageConverter(EventSchemaRegistry.defaultRegistry(),
+            new Jackson2JsonMessageConverter(objectMapper));
+    }
+
+    @Bean
+    public TopicExchange notificationExchange() {
+        return new TopicExchange(NOTIFICATION_EXCHANGE);
+    }
+
+    // Fan-out requests from other services, e.g. a new announcement
+    @Bean
+    public Queue fanOutQueue() {
+        return QueueBuilder.durable(FANOUT_QUEUE).build();
+    }
+
+    @Bean
+    public Binding fanOutBinding(Queue fanOutQueue, TopicExchange notificationExchange) {
+        return BindingBuilder.bind(fanOutQueue).to(notificationExchange).with(FANOUT_ROUTING_KEY);
+    }
+
+    @Bean
+    public TopicExchange visitorExchange() {
+        return new TopicExchange(VISITOR_EXCHANGE);
+    }
+
+    // Visitor state changes that become digests for the host
+    @Bean
+    public Queue visitorDigestQueue() {
+        return QueueBuilder.durable(VISITOR_DIGEST_QUEUE).build();
+    }
+
+    @Bean
+    public Binding visitorDigestBinding(Queue visitorDigestQueue, TopicExchange visitorExchange) {
+        return BindingBuilder.bind(visitorDigestQueue).to(visitorExchange).with("visitor.#");
+    }
+
+    @Bean
+    public TopicExchange pushExchange() {
+        return new TopicExchange(PUSH_EXCHANGE);
+    }
+}
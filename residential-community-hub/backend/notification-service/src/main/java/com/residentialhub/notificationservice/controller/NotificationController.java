@@ -0,0 +1,69 @@
+package com.residentialhub.notificationservice.controller;
+
+import com.residentialhub.commons.dto.ApiResponse;
+import com.residentialhub.notificationservice.dto.ChannelStatsDto;
+import com.residentialhub.notificationservice.dto.FanOutJobDto;
+import com.residentialhub.notificationservice.dto.FanOutRequest;
+import com.residentialhub.notificationservice.dto.NotificationPage;
+import com.residentialhub.notificationservice.service.FanOutService;
+import com.residentialhub.notificationservice.service.InboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/notifications")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class NotificationController {
+
+    private final FanOutService fanOutService;
+    private final InboxService inboxService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<NotificationPage>> getMyNotifications(
+            @RequestHeader("X-User-Id") UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            @RequestParam(defaultValue = "20") int size) {
+        NotificationPage page = inboxService.getPage(userId, cursor, unreadOnly, size);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<ApiResponse<Integer>> getUnreadCount(@RequestHeader("X-User-Id") UUID userId) {
+        return ResponseEntity.ok(ApiResponse.success(inboxService.getUnreadCount(userId)));
+    }
+
+    @PutMapping("/{id}/read")
+    public ResponseEntity<ApiResponse<Integer>> markRead(
+            @PathVariable UUID id,
+            @RequestHeader("X-User-Id") UUID userId) {
+        int unread = inboxService.markRead(userId, id);
+        return ResponseEntity.ok(ApiResponse.success(unread, "Notification marked as read"));
+    }
+
+    @PutMapping("/read-all")
+    public ResponseEntity<ApiResponse<Integer>> markAllRead(@RequestHeader("X-User-Id") UUID userId) {
+        int unread = inboxService.markAllRead(userId);
+        return ResponseEntity.ok(ApiResponse.success(unread, "All notifications marked as read"));
+    }
+
+    @PostMapping("/fan-out")
+    public ResponseEntity<ApiResponse<FanOutJobDto>> fanOut(
+            @RequestBody FanOutRequest request,
+            @RequestHeader("X-User-Id") UUID userId,
+            @RequestHeader(value = "X-User-Role", required = false) String role) {
+        FanOutJobDto job = fanOutService.submit(request, userId, role);
+        return ResponseEntity.ok(ApiResponse.success(job, "Notification queued"));
+    }
+
+    @GetMapping("/delivery/stats")
+    public ResponseEntity<ApiResponse<List<ChannelStatsDto>>> getDeliveryStats(
+            @RequestHeader(value = "X-User-Role", required = false) String role) {
+        return ResponseEntity.ok(ApiResponse.success(fanOutService.getStats(role)));
+    }
+}
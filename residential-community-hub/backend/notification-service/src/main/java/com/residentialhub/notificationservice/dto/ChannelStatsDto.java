@@ -0,0 +1,21 @@
+package com.residentialhub.notificationservice.dto;
+
+import com.residentialhub.notificationservice.service.DeliveryChannel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChannelStatsDto {
+    private DeliveryChannel channel;
+    private int pendingJobs;
+    private int queuedBatches;
+    private int activeWorkers;
+    private long delivered;
+    private long failed;
+    private long retried;
+}
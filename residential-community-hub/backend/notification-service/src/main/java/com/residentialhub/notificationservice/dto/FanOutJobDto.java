@@ -0,0 +1,19 @@
+package com.residentialhub.notificationservice.dto;
+
+import com.residentialhub.notificationservice.service.DeliveryChannel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FanOutJobDto {
+    private UUID noticeId;
+    private Set<DeliveryChannel> channels;
+}
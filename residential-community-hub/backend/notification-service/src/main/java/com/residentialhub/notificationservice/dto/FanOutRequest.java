@@ -0,0 +1,30 @@
+package com.residentialhub.notificationservice.dto;
+
+import com.residentialhub.notificationservice.service.DeliveryChannel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A notice for an audience: every active user of the society, optionally
+ * narrowed to one building and/or a set of roles.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FanOutRequest {
+    private UUID societyId;
+    private String buildingName;
+    private List<String> roles;
+    private String title;
+    private String message;
+    private String type;
+    private String relatedId;
+    private Set<DeliveryChannel> channels;
+}
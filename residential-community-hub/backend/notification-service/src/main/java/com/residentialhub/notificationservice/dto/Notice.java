@@ -0,0 +1,24 @@
+package com.residentialhub.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// What every recipient of one fan-out receives
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Notice {
+    private UUID id;
+    private UUID societyId;
+    private String title;
+    private String message;
+    private String type;
+    private String relatedId;
+    private LocalDateTime createdAt;
+}
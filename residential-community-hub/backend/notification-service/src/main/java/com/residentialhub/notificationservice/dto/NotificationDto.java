@@ -0,0 +1,23 @@
+package com.residentialhub.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDto {
+    private UUID id;
+    private String title;
+    private String message;
+    private String type;
+    private String relatedId;
+    private boolean read;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,19 @@
+package com.residentialhub.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPage {
+    private List<NotificationDto> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int unreadCount;
+}
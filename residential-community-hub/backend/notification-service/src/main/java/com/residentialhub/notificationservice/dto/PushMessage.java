@@ -0,0 +1,24 @@
+package com.residentialhub.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Published on push.exchange for whichever gateway holds the user's connection
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PushMessage {
+    private String userId;
+    private String societyId;
+    private String noticeId;
+    private String title;
+    private String message;
+    private String type;
+    private String relatedId;
+    private LocalDateTime createdAt;
+}
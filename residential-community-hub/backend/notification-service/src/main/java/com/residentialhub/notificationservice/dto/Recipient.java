@@ -0,0 +1,6 @@
+package com.residentialhub.notificationservice.dto;
+
+import java.util.UUID;
+
+public record Recipient(UUID userId, String email, String firstName) {
+}
@@ -0,0 +1,112 @@
+package com.residentialhub.notificationservice.repository;
+
+import com.residentialhub.notificationservice.dto.Notice;
+import com.residentialhub.notificationservice.dto.NotificationDto;
+import com.residentialhub.notificationservice.dto.Recipient;
+import com.residentialhub.notificationservice.util.NotificationCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class NotificationRepository {
+
+    // One statement per batch whatever its size: the recipients travel as two
+    // arrays, and the unread counters are bumped once per statement
+    private static final String INSERT_SQL =
+        "INSERT INTO notifications (id, user_id, title, message, type, related_id, society_id, created_at) " +
+        "SELECT r.id, r.user_id, ?, ?, ?, ?, ?, ? FROM unnest(?::uuid[], ?::uuid[]) AS r(id, user_id) " +
+        "ORDER BY r.user_id " +
+        "ON CONFLICT (id) DO NOTHING";
+
+    private static final RowMapper<NotificationDto> ROW_MAPPER = (rs, i) -> NotificationDto.builder()
+        .id(rs.getObject("id", UUID.class))
+        .title(rs.getString("title"))
+        .message(rs.getString("message"))
+        .type(rs.getString("type"))
+        .relatedId(rs.getString("related_id"))
+        .read(rs.getBoolean("is_read"))
+        .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+        .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts one row per recipient. Row ids derive from the notice and the
+     * user, so a retried batch skips the rows it already wrote.
+     */
+    public void insertAll(Notice notice, List<Recipient> recipients) {
+        Object[] ids = new Object[recipients.size()];
+        Object[] userIds = new Object[recipients.size()];
+        for (int i = 0; i < recipients.size(); i++) {
+            UUID userId = recipients.get(i).userId();
+            ids[i] = rowId(notice.getId(), userId);
+            userIds[i] = userId;
+        }
+        Timestamp createdAt = Timestamp.valueOf(notice.getCreatedAt());
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_SQL);
+            ps.setString(1, notice.getTitle());
+            ps.setString(2, notice.getMessage());
+            ps.setString(3, notice.getType());
+            ps.setString(4, notice.getRelatedId());
+            ps.setObject(5, notice.getSocietyId());
+            ps.setTimestamp(6, createdAt);
+            ps.setArray(7, con.createArrayOf("uuid", ids));
+            ps.setArray(8, con.createArrayOf("uuid", userIds));
+            return ps;
+        });
+    }
+
+    /**
+     * Newest first, after {@code cursor} when given. Fetches one row past
+     * {@code limit} so the caller can tell whether another page exists.
+     */
+    public List<NotificationDto> findPage(UUID userId, NotificationCursor cursor, boolean unreadOnly, int limit) {
+        StringBuilder sql = new StringBuilder(
+            "SELECT id, title, message, type, related_id, is_read, created_at FROM notifications WHERE user_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+        if (unreadOnly) {
+            sql.append(" AND is_read = false");
+        }
+        if (cursor != null) {
+            sql.append(" AND (created_at, id) < (?, ?)");
+            args.add(Timestamp.valueOf(cursor.createdAt()));
+            args.add(cursor.id());
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        args.add(limit + 1);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    public int countUnread(UUID userId) {
+        List<Integer> counts = jdbcTemplate.queryForList(
+            "SELECT unread FROM notification_unread_counts WHERE user_id = ?", Integer.class, userId);
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+
+    public boolean markRead(UUID userId, UUID notificationId) {
+        return jdbcTemplate.update(
+            "UPDATE notifications SET is_read = true WHERE id = ? AND user_id = ? AND is_read = false",
+            notificationId, userId) > 0;
+    }
+
+    public int markAllRead(UUID userId) {
+        return jdbcTemplate.update(
+            "UPDATE notifications SET is_read = true WHERE user_id = ? AND is_read = false", userId);
+    }
+
+    static UUID rowId(UUID noticeId, UUID userId) {
+        return UUID.nameUUIDFromBytes((noticeId + ":" + userId).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,67 @@
+package com.residentialhub.notificationservice.repository;
+
+import com.residentialhub.notificationservice.dto.FanOutRequest;
+import com.residentialhub.notificationservice.dto.Recipient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class RecipientRepository {
+
+    private static final RowMapper<Recipient> ROW_MAPPER = (rs, i) -> new Recipient(
+        rs.getObject("id", UUID.class), rs.getString("email"), rs.getString("first_name"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Next chunk of the audience after {@code afterUserId}, in id order.
+     * Keyset paging keeps each read short, so no cursor or transaction stays
+     * open while a slow channel works through the recipients.
+     */
+    public List<Recipient> findChunk(FanOutRequest audience, UUID afterUserId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("societyId", audience.getSocietyId())
+            .addValue("limit", limit);
+        StringBuilder sql = new StringBuilder(
+            "SELECT id, email, first_name FROM users WHERE society_id = :societyId AND is_active = true");
+        if (audience.getBuildingName() != null) {
+            sql.append(" AND building_name = :buildingName");
+            params.addValue("buildingName", audience.getBuildingName());
+        }
+        if (audience.getRoles() != null && !audience.getRoles().isEmpty()) {
+            sql.append(" AND role IN (:roles)");
+            params.addValue("roles", audience.getRoles());
+        }
+        if (afterUserId != null) {
+            sql.append(" AND id > :afterUserId");
+            params.addValue("afterUserId", afterUserId);
+        }
+        sql.append(" ORDER BY id LIMIT :limit");
+
+        return jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+
+    public boolean isActiveMember(UUID userId, UUID societyId) {
+        Boolean member = jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM users WHERE id = :userId AND society_id = :societyId AND is_active = true)",
+            new MapSqlParameterSource("userId", userId).addValue("societyId", societyId), Boolean.class);
+        return Boolean.TRUE.equals(member);
+    }
+
+    public List<Recipient> findActiveByIds(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+            "SELECT id, email, first_name FROM users WHERE id IN (:ids) AND is_active = true",
+            new MapSqlParameterSource("ids", userIds), ROW_MAPPER);
+    }
+}
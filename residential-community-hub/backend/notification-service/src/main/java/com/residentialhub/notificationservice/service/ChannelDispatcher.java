@@ -0,0 +1,265 @@
+package com.residentialhub.notificationservice.service;
+
+import com.residentialhub.notificationservice.config.NotificationDeliveryProperties.ChannelProperties;
+import com.residentialhub.notificationservice.dto.FanOutRequest;
+import com.residentialhub.notificationservice.dto.Notice;
+import com.residentialhub.notificationservice.dto.Recipient;
+import com.residentialhub.notificationservice.repository.RecipientRepository;
+import com.residentialhub.notificationservice.util.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivery pipeline of one channel.
+ *
+ * A single reader thread expands each job's audience chunk by chunk into
+ * batches on a bounded queue, and a fixed pool of workers drains it through
+ * the channel's rate limiter. When the workers fall behind the queue fills
+ * and the reader waits, so a slow provider holds back only its own channel:
+ * every channel reads the audience on its own and shares nothing with the
+ * others. Failed recipients are retried with exponential backoff.
+ */
+@Slf4j
+final class ChannelDispatcher {
+
+    private final DeliveryChannel channel;
+    private final ChannelSender sender;
+    private final ChannelProperties properties;
+    private final RecipientRepository recipientRepository;
+    private final int chunkSize;
+
+    private final BlockingQueue<Job> jobs = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Batch> batches;
+    private final RateLimiter rateLimiter;
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+
+    private ExecutorService reader;
+    private ExecutorService workers;
+    private ScheduledExecutorService retries;
+
+    private final Counter expanded;
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter retried;
+    private final Timer sendTimer;
+
+    ChannelDispatcher(ChannelSender sender, ChannelProperties properties, RecipientRepository recipientRepository,
+                      int chunkSize, MeterRegistry meterRegistry) {
+        this.channel = sender.channel();
+        this.sender = sender;
+        this.properties = properties;
+        this.recipientRepository = recipientRepository;
+        this.chunkSize = chunkSize;
+        this.batches = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.rateLimiter = new RateLimiter(properties.getRatePerSecond());
+
+        String tag = channel.name().toLowerCase();
+        this.expanded = Counter.builder("notification.fanout.recipients").tag("channel", tag).register(meterRegistry);
+        this.delivered = Counter.builder("notification.delivery.sent").tag("channel", tag).register(meterRegistry);
+        this.failed = Counter.builder("notification.delivery.failed")
+            .description("Recipients given up on after the last attempt")
+            .tag("channel", tag)
+            .register(meterRegistry);
+        this.retried = Counter.builder("notification.delivery.retries").tag("channel", tag).register(meterRegistry);
+        this.sendTimer = Timer.builder("notification.delivery.batch").tag("channel", tag).register(meterRegistry);
+        Gauge.builder("notification.delivery.jobs.pending", jobs, BlockingQueue::size).tag("channel", tag).register(meterRegistry);
+        Gauge.builder("notification.delivery.queue.size", batches, BlockingQueue::size).tag("channel", tag).register(meterRegistry);
+        Gauge.builder("notification.delivery.workers.active", activeWorkers, AtomicInteger::get).tag("channel", tag).register(meterRegistry);
+    }
+
+    void start() {
+        String name = "notify-" + channel.name().toLowerCase().replace('_', '-');
+        reader = Executors.newSingleThreadExecutor(daemon(name + "-reader"));
+        workers = Executors.newFixedThreadPool(properties.getWorkers(), daemon(name + "-worker"));
+        retries = Executors.newSingleThreadScheduledExecutor(daemon(name + "-retry"));
+        reader.execute(this::readLoop);
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            workers.execute(this::workLoop);
+        }
+    }
+
+    void stop() {
+        // Queued deliveries are dropped; in-app rows are idempotent, so a
+        // fan-out may simply be submitted again
+        reader.shutdownNow();
+        workers.shutdownNow();
+        retries.shutdownNow();
+    }
+
+    void submit(Notice notice, FanOutRequest audience) {
+        jobs.add(new Job(notice, audience, null));
+    }
+
+    void submit(Notice notice, List<Recipient> recipients) {
+        jobs.add(new Job(notice, null, List.copyOf(recipients)));
+    }
+
+    DeliveryChannel channel() {
+        return channel;
+    }
+
+    int pendingJobs() {
+        return jobs.size();
+    }
+
+    int queuedBatches() {
+        return batches.size();
+    }
+
+    int activeWorkers() {
+        return activeWorkers.get();
+    }
+
+    long delivered() {
+        return (long) delivered.count();
+    }
+
+    long failed() {
+        return (long) failed.count();
+    }
+
+    long retried() {
+        return (long) retried.count();
+    }
+
+    private void readLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Job job = jobs.take();
+                try {
+                    if (job.recipients() != null) {
+                        enqueue(job.notice(), job.recipients());
+                    } else {
+                        expand(job);
+                    }
+                } catch (RuntimeException e) {
+                    // Drop the job, not the reader: every later notice would stall behind it
+                    log.error("{} fan-out of notice {} failed", channel, job.notice().getId(), e);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void expand(Job job) throws InterruptedException {
+        UUID after = null;
+        while (true) {
+            List<Recipient> chunk;
+            try {
+                chunk = recipientRepository.findChunk(job.audience(), after, chunkSize);
+            } catch (RuntimeException e) {
+                log.error("Reading audience of notice {} for {} failed after {}: {}",
+                    job.notice().getId(), channel, after, e.getMessage());
+                return;
+            }
+            if (chunk.isEmpty()) {
+                return;
+            }
+            enqueue(job.notice(), chunk);
+            if (chunk.size() < chunkSize) {
+                return;
+            }
+            after = chunk.get(chunk.size() - 1).userId();
+        }
+    }
+
+    private void enqueue(Notice notice, List<Recipient> recipients) throws InterruptedException {
+        expanded.increment(recipients.size());
+        for (int from = 0; from < recipients.size(); from += properties.getBatchSize()) {
+            List<Recipient> slice = recipients.subList(from, Math.min(recipients.size(), from + properties.getBatchSize()));
+            batches.put(new Batch(notice, List.copyOf(slice), 1));
+        }
+    }
+
+    private void workLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Batch batch = batches.take();
+                rateLimiter.acquire(batch.recipients().size());
+                activeWorkers.incrementAndGet();
+                try {
+                    deliver(batch);
+                } catch (RuntimeException e) {
+                    failed.increment(batch.recipients().size());
+                    log.error("{} delivery of notice {} to {} recipients failed unexpectedly", channel,
+                        batch.notice().getId(), batch.recipients().size(), e);
+                } finally {
+                    activeWorkers.decrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void deliver(Batch batch) {
+        List<Recipient> failedRecipients;
+        long start = System.nanoTime();
+        try {
+            failedRecipients = sender.send(batch.notice(), batch.recipients());
+        } catch (Exception e) {
+            log.warn("{} delivery of notice {} to {} recipients failed (attempt {}): {}",
+                channel, batch.notice().getId(), batch.recipients().size(), batch.attempt(), e.getMessage());
+            failedRecipients = batch.recipients();
+        } finally {
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        delivered.increment(batch.recipients().size() - failedRecipients.size());
+        if (!failedRecipients.isEmpty()) {
+            retry(new Batch(batch.notice(), List.copyOf(failedRecipients), batch.attempt() + 1));
+        }
+    }
+
+    private void retry(Batch batch) {
+        if (batch.attempt() > properties.getMaxAttempts()) {
+            failed.increment(batch.recipients().size());
+            log.warn("Giving up {} delivery of notice {} to {} recipients", channel, batch.notice().getId(),
+                batch.recipients().size());
+            return;
+        }
+        retried.increment(batch.recipients().size());
+        long delay = Math.min(properties.getMaxBackoffMs(), properties.getBackoffMs() << Math.min(batch.attempt() - 2, 20));
+        schedule(batch, delay);
+    }
+
+    private void schedule(Batch batch, long delayMs) {
+        retries.schedule(() -> {
+            // Never block the retry thread on a full queue; try again later
+            if (!batches.offer(batch)) {
+                schedule(batch, Math.max(delayMs, properties.getBackoffMs()));
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    // Either an audience to expand or recipients already known
+    private record Job(Notice notice, FanOutRequest audience, List<Recipient> recipients) {
+    }
+
+    private record Batch(Notice notice, List<Recipient> recipients, int attempt) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.residentialhub.notificationservice.service;
+
+import com.residentialhub.notificationservice.dto.Notice;
+import com.residentialhub.notificationservice.dto.Recipient;
+
+import java.util.List;
+
+/**
+ * Delivers a notice over one channel. Implementations are called from that
+ * channel's worker threads only, with at most the channel's batch size of
+ * recipients at a time.
+ */
+public interface ChannelSender {
+
+    DeliveryChannel channel();
+
+    /**
+     * Returns the recipients that could not be reached and should be retried;
+     * throwing marks the whole batch for retry. Deliveries must tolerate being
+     * repeated for the same notice and recipient.
+     */
+    List<Recipient> send(Notice notice, List<Recipient> recipients) throws Exception;
+}
@@ -0,0 +1,7 @@
+package com.residentialhub.notificationservice.service;
+
+public enum DeliveryChannel {
+    IN_APP,
+    EMAIL,
+    PUSH
+}
@@ -0,0 +1,100 @@
+package com.residentialhub.notificationservice.service;
+
+import com.residentialhub.notificationservice.dto.Notice;
+import com.residentialhub.notificationservice.dto.Recipient;
+import com.residentialhub.notificationservice.service.EmailTemplates.RenderedEmail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends a batch over one pooled SMTP connection, rendering each recipient's
+ * message from the notice's precompiled templates.
+ */
+@Component
+@Slf4j
+public class EmailSender implements ChannelSender {
+
+    private final SmtpConnectionPool connectionPool;
+    private final EmailTemplates templates;
+    private final InternetAddress from;
+    private final Counter rejected;
+
+    public EmailSender(SmtpConnectionPool connectionPool,
+                       EmailTemplates templates,
+                       MeterRegistry meterRegistry,
+                       @Value("${notification.mail.from:no-reply@residentialhub.local}") String from) throws MessagingException {
+        this.connectionPool = connectionPool;
+        this.templates = templates;
+        this.from = new InternetAddress(from);
+        this.rejected = Counter.builder("notification.email.rejected")
+            .description("Recipients the SMTP server refused permanently")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public DeliveryChannel channel() {
+        return DeliveryChannel.EMAIL;
+    }
+
+    @Override
+    public List<Recipient> send(Notice notice, List<Recipient> recipients) throws MessagingException, InterruptedException {
+        List<Recipient> retry = new ArrayList<>();
+        SmtpConnectionPool.Connection connection = connectionPool.borrow();
+        boolean broken = false;
+        try {
+            for (int i = 0; i < recipients.size(); i++) {
+                Recipient recipient = recipients.get(i);
+                if (recipient.email() == null || recipient.email().isBlank()) {
+                    continue;
+                }
+                try {
+                    connection.send(buildMessage(notice, recipient));
+                } catch (SendFailedException e) {
+                    // The server answered, so the session is still usable.
+                    // 4xx replies leave the address valid-but-unsent
+                    if (e.getValidUnsentAddresses() != null && e.getValidUnsentAddresses().length > 0) {
+                        retry.add(recipient);
+                    } else {
+                        rejected.increment();
+                        log.debug("SMTP server rejected {} for notice {}: {}", recipient.email(), notice.getId(), e.getMessage());
+                    }
+                } catch (AddressException e) {
+                    rejected.increment();
+                    log.debug("Skipping malformed address {} for notice {}", recipient.email(), notice.getId());
+                } catch (MessagingException e) {
+                    // I/O failure: the session state is unknown, so drop the
+                    // connection and hand the rest of the batch back for retry
+                    broken = true;
+                    retry.addAll(recipients.subList(i, recipients.size()));
+                    log.warn("SMTP connection failed after {} of {} emails for notice {}: {}",
+                        i, recipients.size(), notice.getId(), e.getMessage());
+                    break;
+                }
+            }
+        } finally {
+            connectionPool.release(connection, broken);
+        }
+        return retry;
+    }
+
+    private MimeMessage buildMessage(Notice notice, Recipient recipient) throws MessagingException {
+        RenderedEmail email = templates.render(notice, recipient);
+        MimeMessage message = new MimeMessage(connectionPool.session());
+        message.setFrom(from);
+        message.setRecipient(MimeMessage.RecipientType.TO, new InternetAddress(recipient.email()));
+        message.setSubject(email.subject(), "UTF-8");
+        message.setText(email.body(), "UTF-8");
+        return message;
+    }
+}
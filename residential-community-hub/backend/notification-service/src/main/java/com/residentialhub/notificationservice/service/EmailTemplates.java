@@ -0,0 +1,70 @@
+package com.residentialhub.notificationservice.service;
+
+import com.residentialhub.notificationservice.dto.Notice;
+import com.residentialhub.notificationservice.dto.Recipient;
+import com.residentialhub.notificationservice.util.MessageTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Email layout compiled once at startup, plus each notice's own subject and
+ * message compiled on first use and kept while its fan-out is running. Both
+ * may use {@code {{firstName}}}; the layout also gets {@code {{title}}} and
+ * the rendered {@code {{message}}}.
+ */
+@Component
+public class EmailTemplates {
+
+    private static final int CACHED_NOTICES = 64;
+
+    private final MessageTemplate layout;
+    private final Map<UUID, CompiledNotice> notices = new LinkedHashMap<>(CACHED_NOTICES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, CompiledNotice> eldest) {
+            return size() > CACHED_NOTICES;
+        }
+    };
+
+    public EmailTemplates(@Value("${notification.mail.layout:classpath:templates/notice-email.txt}") Resource layout) {
+        try {
+            this.layout = MessageTemplate.compile(layout.getContentAsString(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read email layout " + layout, e);
+        }
+    }
+
+    public RenderedEmail render(Notice notice, Recipient recipient) {
+        CompiledNotice compiled = compile(notice);
+        String firstName = recipient.firstName() != null ? recipient.firstName() : "";
+        String subject = compiled.subject().render(name -> "firstName".equals(name) ? firstName : null);
+        String message = compiled.message().render(name -> "firstName".equals(name) ? firstName : null);
+        String body = layout.render(name -> switch (name) {
+            case "firstName" -> firstName;
+            case "title" -> subject;
+            case "message" -> message;
+            default -> null;
+        });
+        return new RenderedEmail(subject, body);
+    }
+
+    private CompiledNotice compile(Notice notice) {
+        synchronized (notices) {
+            return notices.computeIfAbsent(notice.getId(), id -> new CompiledNotice(
+                MessageTemplate.compile(notice.getTitle()), MessageTemplate.compile(notice.getMessage())));
+        }
+    }
+
+    public record RenderedEmail(String subject, String body) {
+    }
+
+    private record CompiledNotice(MessageTemplate subject, MessageTemplate message) {
+    }
+}
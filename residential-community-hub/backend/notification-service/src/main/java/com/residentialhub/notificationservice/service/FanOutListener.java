@@ -0,0 +1,27 @@
+package com.residentialhub.notificationservice.service;
+
+import com.residentialhub.commons.exception.BadRequestException;
+import com.residentialhub.notificationservice.config.RabbitConfig;
+import com.residentialhub.notificationservice.dto.FanOutRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FanOutListener {
+
+    private final FanOutService fanOutService;
+
+    @RabbitListener(queues = RabbitConfig.FANOUT_QUEUE)
+    public void onFanOutRequest(FanOutRequest request) {
+        try {
+            fanOutService.submit(request);
+        } catch (BadRequestException e) {
+            throw new AmqpRejectAndDontRequeueException("Invalid fan-out request: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.residentialhub.notificationservice.service;
+
+import com.residentialhub.commons.exception.BadRequestException;
+import com.residentialhub.commons.exception.ForbiddenException;
+import com.residentialhub.notificationservice.config.NotificationDeliveryProperties;
+import com.residentialhub.notificationservice.dto.ChannelStatsDto;
+import com.residentialhub.notificationservice.dto.FanOutJobDto;
+import com.residentialhub.notificationservice.dto.FanOutRequest;
+import com.residentialhub.notificationservice.dto.Notice;
+import com.residentialhub.notificationservice.dto.Recipient;
+import com.residentialhub.notificationservice.repository.RecipientRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Accepts notices for an audience and hands them to one dispatcher per
+ * channel. Submitting only enqueues, so callers never wait for delivery.
+ */
+@Service
+@Slf4j
+public class FanOutService implements SmartLifecycle {
+
+    private static final String PROJECT_OWNER = "PROJECT_OWNER";
+    private static final String SOCIETY_ADMIN = "SOCIETY_ADMIN";
+
+    private final Map<DeliveryChannel, ChannelDispatcher> dispatchers = new EnumMap<>(DeliveryChannel.class);
+    private final RecipientRepository recipientRepository;
+    private final Counter submitted;
+    private volatile boolean running;
+
+    public FanOutService(List<ChannelSender> senders,
+                         NotificationDeliveryProperties properties,
+                         RecipientRepository recipientRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${notification.fanout.chunk-size:500}") int chunkSize) {
+        for (ChannelSender sender : senders) {
+            dispatchers.put(sender.channel(), new ChannelDispatcher(sender, properties.forChannel(sender.channel()),
+                recipientRepository, chunkSize, meterRegistry));
+        }
+        this.recipientRepository = recipientRepository;
+        this.submitted = Counter.builder("notification.fanout.submitted").register(meterRegistry);
+    }
+
+    /**
+     * Submits for a caller of the public API. Project owners may address any
+     * society; a society admin only the society they are an active member of.
+     */
+    public FanOutJobDto submit(FanOutRequest request, UUID userId, String role) {
+        boolean allowed = PROJECT_OWNER.equals(role)
+            || (SOCIETY_ADMIN.equals(role) && request.getSocietyId() != null
+                && recipientRepository.isActiveMember(userId, request.getSocietyId()));
+        if (!allowed) {
+            throw new ForbiddenException("Only an admin of the society can send it notifications");
+        }
+        return submit(request);
+    }
+
+    public FanOutJobDto submit(FanOutRequest request) {
+        if (request.getSocietyId() == null || request.getTitle() == null || request.getMessage() == null) {
+            throw new BadRequestException("societyId, title and message are required");
+        }
+        Set<DeliveryChannel> channels = request.getChannels() == null || request.getChannels().isEmpty()
+            ? EnumSet.allOf(DeliveryChannel.class)
+            : EnumSet.copyOf(request.getChannels());
+        channels.retainAll(dispatchers.keySet());
+
+        Notice notice = Notice.builder()
+            .id(UUID.randomUUID())
+            .societyId(request.getSocietyId())
+            .title(request.getTitle())
+            .message(request.getMessage())
+            .type(request.getType() != null ? request.getType() : "GENERAL")
+            .relatedId(request.getRelatedId())
+            .createdAt(LocalDateTime.now())
+            .build();
+        for (DeliveryChannel channel : channels) {
+            dispatchers.get(channel).submit(notice, request);
+        }
+        submitted.increment();
+        log.info("Fan-out of notice {} to society {} queued on {}", notice.getId(), notice.getSocietyId(), channels);
+
+        return FanOutJobDto.builder()
+            .noticeId(notice.getId())
+            .channels(channels)
+            .build();
+    }
+
+    /**
+     * Queues a notice for recipients already resolved by the caller, e.g. a
+     * digest for one visitor host.
+     */
+    public void deliver(Notice notice, List<Recipient> recipients, Set<DeliveryChannel> channels) {
+        for (DeliveryChannel channel : channels) {
+            ChannelDispatcher dispatcher = dispatchers.get(channel);
+            if (dispatcher != null) {
+                dispatcher.submit(notice, recipients);
+            }
+        }
+    }
+
+    // Counters cover every society, so only project owners may read them
+    public List<ChannelStatsDto> getStats(String role) {
+        if (!PROJECT_OWNER.equals(role)) {
+            throw new ForbiddenException("Delivery stats are only available to project owners");
+        }
+        return dispatchers.values().stream()
+            .map(d -> ChannelStatsDto.builder()
+                .channel(d.channel())
+                .pendingJobs(d.pendingJobs())
+                .queuedBatches(d.queuedBatches())
+                .activeWorkers(d.activeWorkers())
+                .delivered(d.delivered())
+                .failed(d.failed())
+                .retried(d.retried())
+                .build())
+            .toList();
+    }
+
+    @Override
+    public void start() {
+        dispatchers.values().forEach(ChannelDispatcher::start);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        dispatchers.values().forEach(ChannelDispatcher::stop);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,27 @@
+package com.residentialhub.notificationservice.service;
+
+import com.residentialhub.notificationservice.dto.Notice;
+import com.residentialhub.notificationservice.dto.Recipient;
+import com.residentialhub.notificationservice.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class InAppSender implements ChannelSender {
+
+    private final NotificationRepository notificationRepository;
+
+    @Override
+    public DeliveryChannel channel() {
+        return DeliveryChannel.IN_APP;
+    }
+
+    @Override
+    public List<Recipient> send(Notice notice, List<Recipient> recipients) {
+        notificationRepository.insertAll(notice, recipients);
+        return List.of();
+    }
+}
@@ -0,0 +1,59 @@
+package com.residentialhub.notificationservice.service;
+
+import com.residentialhub.notificationservice.dto.NotificationDto;
+import com.residentialhub.notificationservice.dto.NotificationPage;
+import com.residentialhub.notificationservice.repository.NotificationRepository;
+import com.residentialhub.notificationservice.util.NotificationCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A user's in-app notifications. The unread badge reads a counter row kept
+ * current by database triggers, never the user's history.
+ */
+@Service
+@RequiredArgsConstructor
+public class InboxService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final NotificationRepository notificationRepository;
+
+    public NotificationPage getPage(UUID userId, String cursor, boolean unreadOnly, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        NotificationCursor position = cursor != null && !cursor.isBlank() ? NotificationCursor.decode(cursor) : null;
+        List<NotificationDto> rows = notificationRepository.findPage(userId, position, unreadOnly, limit);
+
+        boolean hasMore = rows.size() > limit;
+        List<NotificationDto> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            NotificationDto last = items.get(items.size() - 1);
+            nextCursor = new NotificationCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return NotificationPage.builder()
+            .items(items)
+            .nextCursor(nextCursor)
+            .hasMore(hasMore)
+            .unreadCount(notificationRepository.countUnread(userId))
+            .build();
+    }
+
+    public int getUnreadCount(UUID userId) {
+        return notificationRepository.countUnread(userId);
+    }
+
+    public int markRead(UUID userId, UUID notificationId) {
+        // Already read or not the caller's: nothing to do, same answer
+        notificationRepository.markRead(userId, notificationId);
+        return notificationRepository.countUnread(userId);
+    }
+
+    public int markAllRead(UUID userId) {
+        notificationRepository.markAllRead(userId);
+        return notificationRepository.countUnread(userId);
+    }
+}
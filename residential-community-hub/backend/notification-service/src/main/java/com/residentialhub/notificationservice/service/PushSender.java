@@ -0,0 +1,45 @@
+package com.residentialhub.notificationservice.service;
+
+import com.residentialhub.notificationservice.config.RabbitConfig;
+import com.residentialhub.notificationservice.dto.Notice;
+import com.residentialhub.notificationservice.dto.PushMessage;
+import com.residentialhub.notificationservice.dto.Recipient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class PushSender implements ChannelSender {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    @Override
+    public DeliveryChannel channel() {
+        return DeliveryChannel.PUSH;
+    }
+
+    @Override
+    public List<Recipient> send(Notice notice, List<Recipient> recipients) {
+        // One broker channel for the whole batch
+        rabbitTemplate.invoke(operations -> {
+            for (Recipient recipient : recipients) {
+                operations.convertAndSend(RabbitConfig.PUSH_EXCHANGE, "push.user." + recipient.userId(),
+                    PushMessage.builder()
+                        .userId(recipient.userId().toString())
+                        .societyId(notice.getSocietyId().toString())
+                        .noticeId(notice.getId().toString())
+                        .title(notice.getTitle())
+                        .message(notice.getMessage())
+                        .type(notice.getType())
+                        .relatedId(notice.getRelatedId())
+                        .createdAt(notice.getCreatedAt())
+                        .build());
+            }
+            return null;
+        });
+        return List.of();
+    }
+}
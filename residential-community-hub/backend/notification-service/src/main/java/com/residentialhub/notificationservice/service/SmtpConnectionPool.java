@@ -0,0 +1,145 @@
+package com.residentialhub.notificationservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps authenticated SMTP connections open between batches, so the TCP,
+ * STARTTLS and AUTH round trips are paid once per connection instead of
+ * once per message. Connections are recycled after a number of messages or
+ * when idle too long, since most servers drop long sessions on their own.
+ */
+@Component
+@Slf4j
+public class SmtpConnectionPool implements DisposableBean {
+
+    private final JavaMailSenderImpl mailSender;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+    private final int maxMessagesPerConnection;
+    private final long maxIdleMs;
+    private final long borrowTimeoutMs;
+
+    private final Counter opened;
+
+    public SmtpConnectionPool(JavaMailSenderImpl mailSender,
+                              MeterRegistry meterRegistry,
+                              @Value("${notification.mail.pool.size:4}") int size,
+                              @Value("${notification.mail.pool.max-messages-per-connection:500}") int maxMessagesPerConnection,
+                              @Value("${notification.mail.pool.max-idle-ms:30000}") long maxIdleMs,
+                              @Value("${notification.mail.pool.borrow-timeout-ms:10000}") long borrowTimeoutMs) {
+        this.mailSender = mailSender;
+        this.permits = new Semaphore(size);
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.maxIdleMs = maxIdleMs;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.opened = Counter.builder("notification.smtp.connections.opened").register(meterRegistry);
+        Gauge.builder("notification.smtp.connections.idle", idle, LinkedBlockingDeque::size).register(meterRegistry);
+        Gauge.builder("notification.smtp.connections.in.use", permits, p -> size - p.availablePermits())
+            .register(meterRegistry);
+    }
+
+    public Session session() {
+        return mailSender.getSession();
+    }
+
+    public Connection borrow() throws MessagingException, InterruptedException {
+        if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+            throw new MessagingException("No SMTP connection available within " + borrowTimeoutMs + " ms");
+        }
+        try {
+            Connection connection;
+            // Most recently used first: it is the least likely to have been
+            // dropped by the server
+            while ((connection = idle.pollFirst()) != null) {
+                if (connection.isReusable()) {
+                    return connection;
+                }
+                connection.close();
+            }
+            return open();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a connection to the pool; {@code broken} closes it instead, e.g.
+     * after an I/O error left the SMTP session in an unknown state.
+     */
+    public void release(Connection connection, boolean broken) {
+        try {
+            if (broken || connection.sent >= maxMessagesPerConnection) {
+                connection.close();
+            } else {
+                connection.lastUsed = System.currentTimeMillis();
+                idle.offerFirst(connection);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        Connection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            connection.close();
+        }
+    }
+
+    private Connection open() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        opened.increment();
+        return new Connection(transport);
+    }
+
+    public final class Connection {
+
+        private final Transport transport;
+        private int sent;
+        private long lastUsed = System.currentTimeMillis();
+
+        private Connection(Transport transport) {
+            this.transport = transport;
+        }
+
+        public void send(MimeMessage message) throws MessagingException {
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            transport.sendMessage(message, message.getAllRecipients());
+            sent++;
+        }
+
+        private boolean isReusable() {
+            return System.currentTimeMillis() - lastUsed < maxIdleMs && transport.isConnected();
+        }
+
+        private void close() {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Closing SMTP connection failed: {}", e.getMessage());
+            }
+        }
+    }
+}
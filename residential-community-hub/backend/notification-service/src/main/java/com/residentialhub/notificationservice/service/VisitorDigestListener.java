@@ -0,0 +1,36 @@
+package com.residentialhub.notificationservice.service;
+
+import com.residentialhub.events.VisitorBatchEvent;
+import com.residentialhub.events.VisitorEvent;
+import com.residentialhub.notificationservice.config.RabbitConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitHandler;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@RabbitListener(queues = RabbitConfig.VISITOR_DIGEST_QUEUE)
+public class VisitorDigestListener {
+
+    private final VisitorDigestService visitorDigestService;
+
+    @RabbitHandler
+    public void onVisitorEvent(VisitorEvent event) {
+        visitorDigestService.record(event);
+    }
+
+    @RabbitHandler
+    public void onVisitorBatchEvent(VisitorBatchEvent batch) {
+        if (batch.getEvents() != null) {
+            batch.getEvents().forEach(visitorDigestService::record);
+        }
+    }
+
+    @RabbitHandler(isDefault = true)
+    public void onOtherEvent(Object event) {
+        log.trace("Ignoring {}", event.getClass().getSimpleName());
+    }
+}
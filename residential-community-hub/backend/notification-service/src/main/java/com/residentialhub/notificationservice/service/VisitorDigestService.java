@@ -0,0 +1,234 @@
+package com.residentialhub.notificationservice.service;
+
+import com.residentialhub.events.VisitorEvent;
+import com.residentialhub.notificationservice.dto.Notice;
+import com.residentialhub.notificationservice.dto.Recipient;
+import com.residentialhub.notificationservice.repository.RecipientRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Turns visitor events into one notification per host and window.
+ *
+ * The first event for a host opens a window; events until it closes are
+ * merged, keeping only the furthest state of each visitor, so a visitor
+ * created, approved and checked in within the window is one line saying they
+ * checked in. A window closes after {@code window-ms}, or early once it holds
+ * {@code max-visitors} visitors, and the digest goes out as a single
+ * delivery on the configured channels.
+ *
+ * Windows live in memory and events are acknowledged on receipt, so a crash
+ * loses at most one window of these advisory notifications.
+ */
+@Service
+@Slf4j
+public class VisitorDigestService {
+
+    private static final String VISITOR_TYPE = "VISITOR";
+
+    private final FanOutService fanOutService;
+    private final RecipientRepository recipientRepository;
+    private final Set<DeliveryChannel> channels;
+    private final long windowMs;
+    private final int maxVisitors;
+
+    private final Map<UUID, HostDigest> pending = new ConcurrentHashMap<>();
+
+    private final Counter received;
+    private final Counter coalesced;
+    private final Counter digests;
+
+    public VisitorDigestService(FanOutService fanOutService,
+                                RecipientRepository recipientRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${notification.digest.channels:IN_APP,PUSH}") List<DeliveryChannel> channels,
+                                @Value("${notification.digest.window-ms:30000}") long windowMs,
+                                @Value("${notification.digest.max-visitors:20}") int maxVisitors) {
+        this.fanOutService = fanOutService;
+        this.recipientRepository = recipientRepository;
+        this.channels = channels.isEmpty() ? EnumSet.noneOf(DeliveryChannel.class) : EnumSet.copyOf(channels);
+        this.windowMs = windowMs;
+        this.maxVisitors = maxVisitors;
+        this.received = Counter.builder("notification.digest.events").register(meterRegistry);
+        this.coalesced = Counter.builder("notification.digest.events.coalesced")
+            .description("Events folded into another event of the same visitor")
+            .register(meterRegistry);
+        this.digests = Counter.builder("notification.digest.deliveries").register(meterRegistry);
+        Gauge.builder("notification.digest.pending.hosts", pending, Map::size).register(meterRegistry);
+    }
+
+    public void record(VisitorEvent event) {
+        UUID hostId = parseId(event.getHostId());
+        UUID societyId = parseId(event.getSocietyId());
+        UUID visitorId = parseId(event.getVisitorId());
+        if (hostId == null || societyId == null || visitorId == null || VisitorState.of(event.getEventType()) == null) {
+            log.debug("Skipping visitor event {} without a host, society or known type", event.getVisitorId());
+            return;
+        }
+        received.increment();
+
+        HostDigest[] full = new HostDigest[1];
+        pending.compute(hostId, (id, digest) -> {
+            if (digest == null) {
+                digest = new HostDigest(societyId, System.currentTimeMillis());
+            }
+            if (!digest.add(visitorId, event)) {
+                coalesced.increment();
+            }
+            if (digest.size() >= maxVisitors) {
+                full[0] = digest;
+                return null;
+            }
+            return digest;
+        });
+        if (full[0] != null) {
+            emit(Map.of(hostId, full[0]));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.digest.tick-ms:1000}")
+    public void flushDue() {
+        long cutoff = System.currentTimeMillis() - windowMs;
+        Map<UUID, HostDigest> due = new LinkedHashMap<>();
+        pending.forEach((hostId, digest) -> {
+            if (digest.openedAt <= cutoff && pending.remove(hostId, digest)) {
+                due.put(hostId, digest);
+            }
+        });
+        if (!due.isEmpty()) {
+            emit(due);
+        }
+    }
+
+    private void emit(Map<UUID, HostDigest> due) {
+        Map<UUID, Recipient> hosts;
+        try {
+            hosts = recipientRepository.findActiveByIds(due.keySet()).stream()
+                .collect(Collectors.toMap(Recipient::userId, Function.identity()));
+        } catch (RuntimeException e) {
+            log.warn("Looking up {} visitor hosts failed, dropping their digests: {}", due.size(), e.getMessage());
+            return;
+        }
+
+        due.forEach((hostId, digest) -> {
+            Recipient host = hosts.get(hostId);
+            if (host != null) {
+                fanOutService.deliver(digest.toNotice(), List.of(host), channels);
+                digests.increment();
+            }
+        });
+    }
+
+    private static UUID parseId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Lifecycle order of the visitor events; a later state supersedes earlier ones
+    private enum VisitorState {
+        VISITOR_CREATED(0, "is waiting for your approval"),
+        VISITOR_APPROVED(1, "was approved"),
+        VISITOR_REJECTED(1, "was rejected"),
+        VISITOR_CHECKED_IN(2, "has checked in"),
+        VISITOR_CHECKED_OUT(3, "has checked out");
+
+        private final int rank;
+        private final String phrase;
+
+        VisitorState(int rank, String phrase) {
+            this.rank = rank;
+            this.phrase = phrase;
+        }
+
+        static VisitorState of(String eventType) {
+            if (eventType == null) {
+                return null;
+            }
+            try {
+                return valueOf(eventType);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    // Guarded by the pending map: only touched inside compute() or after removal
+    private static final class HostDigest {
+
+        private final UUID societyId;
+        private final long openedAt;
+        private final Map<UUID, VisitorEvent> latest = new LinkedHashMap<>();
+
+        private HostDigest(UUID societyId, long openedAt) {
+            this.societyId = societyId;
+            this.openedAt = openedAt;
+        }
+
+        // False when the visitor was already in the digest
+        boolean add(UUID visitorId, VisitorEvent event) {
+            VisitorEvent current = latest.get(visitorId);
+            if (current == null) {
+                latest.put(visitorId, event);
+                return true;
+            }
+            if (supersedes(event, current)) {
+                latest.put(visitorId, event);
+            }
+            return false;
+        }
+
+        int size() {
+            return latest.size();
+        }
+
+        Notice toNotice() {
+            List<String> lines = new ArrayList<>(latest.size());
+            latest.values().forEach(event -> lines.add(
+                event.getVisitorName() + " " + VisitorState.of(event.getEventType()).phrase));
+            boolean single = latest.size() == 1;
+            return Notice.builder()
+                .id(UUID.randomUUID())
+                .societyId(societyId)
+                .title(single ? "Visitor update" : latest.size() + " visitor updates")
+                .message(String.join("\n", lines))
+                .type(VISITOR_TYPE)
+                .relatedId(single ? latest.keySet().iterator().next().toString() : null)
+                .createdAt(LocalDateTime.now())
+                .build();
+        }
+
+        // Events can arrive out of order, so the lifecycle decides first
+        private static boolean supersedes(VisitorEvent candidate, VisitorEvent current) {
+            int byRank = Integer.compare(VisitorState.of(candidate.getEventType()).rank,
+                VisitorState.of(current.getEventType()).rank);
+            if (byRank != 0) {
+                return byRank > 0;
+            }
+            return candidate.getTimestamp() != null
+                && (current.getTimestamp() == null || !candidate.getTimestamp().isBefore(current.getTimestamp()));
+        }
+    }
+}
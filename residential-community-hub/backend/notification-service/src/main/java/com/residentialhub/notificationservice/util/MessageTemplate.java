@@ -0,0 +1,67 @@
+package com.residentialhub.notificationservice.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Text with {@code {{name}}} placeholders, parsed once into alternating
+ * literal and variable parts so rendering per recipient is a single pass of
+ * appends. Unknown or missing variables render as empty; an unclosed
+ * {@code {{} is kept as literal text.
+ */
+public final class MessageTemplate {
+
+    private final String[] literals;
+    private final String[] variables;
+
+    private MessageTemplate(String[] literals, String[] variables) {
+        this.literals = literals;
+        this.variables = variables;
+    }
+
+    public static MessageTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf("{{", position);
+            int close = open < 0 ? -1 : source.indexOf("}}", open + 2);
+            if (close < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            literals.add(source.substring(position, open));
+            variables.add(source.substring(open + 2, close).trim());
+            position = close + 2;
+        }
+        return new MessageTemplate(literals.toArray(new String[0]), variables.toArray(new String[0]));
+    }
+
+    public boolean isConstant() {
+        return variables.length == 0;
+    }
+
+    public String render(Function<String, String> values) {
+        if (isConstant()) {
+            return literals[0];
+        }
+        StringBuilder out = new StringBuilder(estimateLength());
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+            String value = values.apply(variables[i]);
+            if (value != null) {
+                out.append(value);
+            }
+        }
+        return out.append(literals[variables.length]).toString();
+    }
+
+    private int estimateLength() {
+        int length = 16 * variables.length;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,46 @@
+package com.residentialhub.notificationservice.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket refilled continuously at {@code permitsPerSecond}, holding at
+ * most one second's worth. Callers block until enough tokens are available;
+ * a request larger than the bucket waits for its full share and overdraws.
+ */
+public final class RateLimiter {
+
+    private final double permitsPerSecond;
+    private final double capacity;
+    private double available;
+    private long lastRefillNanos;
+
+    public RateLimiter(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.capacity = Math.max(1, permitsPerSecond);
+        this.available = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public void acquire(int permits) throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            refill();
+            available -= permits;
+            // Negative balance is the debt this caller sleeps off; later
+            // callers queue behind it
+            waitNanos = available >= 0 ? 0 : (long) (-available / permitsPerSecond * 1_000_000_000L);
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        available = Math.min(capacity, available + (now - lastRefillNanos) * permitsPerSecond / 1_000_000_000L);
+        lastRefillNanos = now;
+    }
+}
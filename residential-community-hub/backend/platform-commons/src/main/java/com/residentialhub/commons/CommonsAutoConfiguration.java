@@ -0,0 +1,65 @@
+package com.residentialhub.commons;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.residentialhub.commons.exception.GlobalExceptionHandler;
+import com.residentialhub.commons.json.MeteredJackson2HttpMessageConverter;
+import com.residentialhub.commons.json.SerializerWarmer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * Shared web plumbing for the services: the Blackbird module on the
+ * application ObjectMapper, the error handler for the ApiResponse envelope,
+ * and a metered JSON converter whose serializers are prepared at startup.
+ */
+@AutoConfiguration(before = HttpMessageConvertersAutoConfiguration.class)
+public class CommonsAutoConfiguration {
+
+    // Registered on the Boot ObjectMapper like any other Module bean; replaces
+    // reflective getter calls with generated lambdas
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "commons.json", name = "blackbird", matchIfMissing = true)
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class WebConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public GlobalExceptionHandler globalExceptionHandler() {
+            return new GlobalExceptionHandler();
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(MappingJackson2HttpMessageConverter.class)
+        public MeteredJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+                ObjectMapper objectMapper, ObjectProvider<MeterRegistry> meterRegistry) {
+            return new MeteredJackson2HttpMessageConverter(objectMapper,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "commons.json", name = "warm-up", matchIfMissing = true)
+        public SerializerWarmer serializerWarmer(ObjectMapper objectMapper,
+                                                 @Qualifier("requestMappingHandlerMapping")
+                                                 RequestMappingHandlerMapping handlerMapping) {
+            return new SerializerWarmer(objectMapper, handlerMapping);
+        }
+    }
+}
@@ -1,4 +1,4 @@
-package com.residentialhub.userservice.dto;
+package com.residentialhub.commons.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
@@ -0,0 +1,27 @@
+package com.residentialhub.commons.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base for failures a client can act on. {@link GlobalExceptionHandler} turns
+ * them into an error {@code ApiResponse} with this status and error code.
+ */
+public class ApiException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final String errorCode;
+
+    public ApiException(HttpStatus status, String errorCode, String message) {
+        super(message);
+        this.status = status;
+        this.errorCode = errorCode;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+}
@@ -0,0 +1,13 @@
+package com.residentialhub.commons.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Request input the service rejects. The message is returned to the client,
+ * so it should name the offending parameter, not internal state.
+ */
+public class BadRequestException extends ApiException {
+    public BadRequestException(String message) {
+        super(HttpStatus.BAD_REQUEST, "BAD_REQUEST", message);
+    }
+}
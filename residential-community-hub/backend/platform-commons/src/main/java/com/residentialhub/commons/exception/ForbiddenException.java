@@ -0,0 +1,13 @@
+package com.residentialhub.commons.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * The caller is known but may not do this. Thrown by services checking the
+ * role and society the gateway forwards in the X-User-* headers.
+ */
+public class ForbiddenException extends ApiException {
+    public ForbiddenException(String message) {
+        super(HttpStatus.FORBIDDEN, "FORBIDDEN", message);
+    }
+}
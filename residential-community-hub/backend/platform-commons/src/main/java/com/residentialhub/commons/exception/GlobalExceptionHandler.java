@@ -0,0 +1,50 @@
+package com.residentialhub.commons.exception;
+
+import com.residentialhub.commons.dto.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingRequestHeaderException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.util.stream.Collectors;
+
+/**
+ * Maps client errors to the same {@link ApiResponse} envelope successful calls
+ * use. Anything not handled here keeps Spring's default error response.
+ */
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(ApiException.class)
+    public ResponseEntity<ApiResponse<Void>> handleApiException(ApiException ex) {
+        log.debug("{}: {}", ex.getErrorCode(), ex.getMessage());
+        return error(ex.getStatus(), ex.getMessage(), ex.getErrorCode());
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ApiResponse<Void>> handleValidation(MethodArgumentNotValidException ex) {
+        String message = ex.getBindingResult().getFieldErrors().stream()
+            .map(error -> error.getField() + ": " + error.getDefaultMessage())
+            .collect(Collectors.joining("; "));
+        return error(HttpStatus.BAD_REQUEST, message.isEmpty() ? "Validation failed" : message, "VALIDATION_FAILED");
+    }
+
+    // Only framework binding errors; services throw BadRequestException for
+    // input they reject. A stray IllegalArgumentException is a bug, not a 400
+    @ExceptionHandler({HttpMessageNotReadableException.class, MethodArgumentTypeMismatchException.class,
+        MissingRequestHeaderException.class})
+    public ResponseEntity<ApiResponse<Void>> handleBadRequest(Exception ex) {
+        return error(HttpStatus.BAD_REQUEST, ex.getMessage(), "BAD_REQUEST");
+    }
+
+    private static ResponseEntity<ApiResponse<Void>> error(HttpStatus status, String message, String errorCode) {
+        return ResponseEntity.status(status)
+            .body(ApiResponse.error(message, status.getReasonPhrase(), errorCode));
+    }
+}
@@ -0,0 +1,9 @@
+package com.residentialhub.commons.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ResourceNotFoundException extends ApiException {
+    public ResourceNotFoundException(String message) {
+        super(HttpStatus.NOT_FOUND, "RESOURCE_NOT_FOUND", message);
+    }
+}
@@ -0,0 +1,94 @@
+package com.residentialhub.commons.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.residentialhub.commons.dto.ApiResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The regular Jackson converter, timed. Serialization still streams straight
+ * into the servlet output buffer; the body is only counted on its way
+ * through, never copied.
+ *
+ * Meters: http.server.responses.serialization (time) and
+ * http.server.responses.size (bytes), tagged with the payload type, which for
+ * an {@link ApiResponse} is the type of its data.
+ */
+public class MeteredJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final MeterRegistry meterRegistry;
+
+    public MeteredJackson2HttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        CountingOutputStream body = new CountingOutputStream(outputMessage.getBody());
+        long start = System.nanoTime();
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        long elapsed = System.nanoTime() - start;
+
+        String payload = payloadType(object);
+        Timer.builder("http.server.responses.serialization")
+            .description("Time spent writing JSON response bodies")
+            .tag("type", payload)
+            .register(meterRegistry)
+            .record(elapsed, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("http.server.responses.size")
+            .description("JSON response body size")
+            .baseUnit("bytes")
+            .tag("type", payload)
+            .register(meterRegistry)
+            .record(body.count);
+    }
+
+    private static String payloadType(Object object) {
+        Object payload = object instanceof ApiResponse<?> response ? response.getData() : object;
+        return payload == null ? "none" : payload.getClass().getSimpleName();
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
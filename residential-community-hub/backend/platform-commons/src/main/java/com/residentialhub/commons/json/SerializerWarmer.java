@@ -0,0 +1,79 @@
+package com.residentialhub.commons.json;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Builds the serializers for every controller return type at startup.
+ *
+ * Jackson introspects a type, and with Blackbird generates its accessors, the
+ * first time it is written; without this that cost lands on the first
+ * request for each endpoint after a deploy. The whole generic tree is warmed
+ * (ApiResponse&lt;List&lt;VisitorDto&gt;&gt; warms VisitorDto too), since
+ * values behind a type variable are looked up by their runtime class.
+ */
+@Slf4j
+public class SerializerWarmer implements SmartInitializingSingleton {
+
+    private final ObjectMapper objectMapper;
+    private final RequestMappingHandlerMapping handlerMapping;
+
+    public SerializerWarmer(ObjectMapper objectMapper, RequestMappingHandlerMapping handlerMapping) {
+        this.objectMapper = objectMapper;
+        this.handlerMapping = handlerMapping;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        Set<JavaType> types = new LinkedHashSet<>();
+        for (HandlerMethod method : handlerMapping.getHandlerMethods().values()) {
+            collect(ResolvableType.forMethodReturnType(method.getMethod()), types);
+        }
+
+        SerializerProvider provider = objectMapper.getSerializerProviderInstance();
+        int warmed = 0;
+        for (JavaType type : types) {
+            try {
+                provider.findValueSerializer(type);
+                warmed++;
+            } catch (JsonMappingException e) {
+                log.debug("Cannot prepare a serializer for {}: {}", type, e.getMessage());
+            }
+        }
+        log.info("Prepared {} JSON serializers in {} ms", warmed, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void collect(ResolvableType type, Set<JavaType> types) {
+        Class<?> raw = type.resolve();
+        if (raw == null || raw == Object.class || raw == void.class || raw == Void.class) {
+            return;
+        }
+        if (HttpEntity.class.isAssignableFrom(raw)) {
+            collect(type.as(HttpEntity.class).getGeneric(0), types);
+            return;
+        }
+        if (!raw.isPrimitive() && !raw.getName().startsWith("java.") && !raw.getName().startsWith("org.springframework.")) {
+            if (!types.add(objectMapper.getTypeFactory().constructType(type.getType()))) {
+                return;
+            }
+        }
+        for (ResolvableType generic : type.getGenerics()) {
+            collect(generic, types);
+        }
+        if (raw.isArray()) {
+            collect(type.getComponentType(), types);
+        }
+    }
+}
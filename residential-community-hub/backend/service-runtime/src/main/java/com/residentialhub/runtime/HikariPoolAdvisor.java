@@ -0,0 +1,125 @@
+package com.residentialhub.runtime;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sizing guidance for the Hikari pools, next to the hikaricp.* meters Spring
+ * Boot already publishes.
+ *
+ * Without a thread pool in front of it, the connection pool becomes the real
+ * concurrency limit: with virtual threads a burst no longer queues for a
+ * Tomcat thread but for a connection. Demand (connections in use plus threads
+ * waiting) is sampled continuously; db.pool.demand.peak over the recent
+ * window is what the pool would have needed, and db.pool.size.limit is the
+ * usual upper bound for one database, (cores * 2) + effective spindles,
+ * beyond which more connections only add contention on the server. A peak
+ * above the limit calls for less work per request, not a bigger pool.
+ */
+@Slf4j
+public class HikariPoolAdvisor implements SmartLifecycle {
+
+    private final List<PoolSamples> pools;
+    private final RuntimeProperties.Pool properties;
+    private ScheduledExecutorService sampler;
+
+    public HikariPoolAdvisor(List<HikariDataSource> dataSources, RuntimeProperties.Pool properties,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        int window = Math.max(1, (int) (properties.getWindowSeconds() * 1000L / properties.getSampleIntervalMs()));
+        this.pools = dataSources.stream().map(ds -> new PoolSamples(ds, window)).toList();
+
+        for (PoolSamples pool : pools) {
+            Gauge.builder("db.pool.demand", pool, p -> p.current)
+                .description("Connections in use plus threads waiting for one")
+                .tag("pool", pool.name)
+                .register(meterRegistry);
+            Gauge.builder("db.pool.demand.peak", pool, p -> p.peak)
+                .description("Highest demand within the sampling window")
+                .tag("pool", pool.name)
+                .register(meterRegistry);
+            Gauge.builder("db.pool.size.limit", this, a -> a.limit())
+                .description("(database cores * 2) + effective spindles")
+                .tag("pool", pool.name)
+                .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public void start() {
+        int limit = limit();
+        for (PoolSamples pool : pools) {
+            if (pool.dataSource.getMaximumPoolSize() > limit) {
+                log.warn("Pool {} allows {} connections, above the {} the database is assumed to serve well "
+                    + "(runtime.pool.database-cores={})", pool.name, pool.dataSource.getMaximumPoolSize(),
+                    limit, properties.getDatabaseCores());
+            }
+        }
+        sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "hikari-pool-advisor");
+            t.setDaemon(true);
+            return t;
+        });
+        sampler.scheduleWithFixedDelay(() -> pools.forEach(PoolSamples::sample), properties.getSampleIntervalMs(),
+            properties.getSampleIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+            sampler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return sampler != null;
+    }
+
+    private int limit() {
+        return properties.getDatabaseCores() * 2 + properties.getEffectiveSpindles();
+    }
+
+    private static final class PoolSamples {
+
+        private final HikariDataSource dataSource;
+        private final String name;
+        private final int[] samples;
+        private int next;
+        private volatile int peak;
+        private volatile int current;
+
+        PoolSamples(HikariDataSource dataSource, int window) {
+            this.dataSource = dataSource;
+            this.name = dataSource.getPoolName() != null ? dataSource.getPoolName() : "default";
+            this.samples = new int[window];
+        }
+
+        void sample() {
+            // Null until the pool has handed out its first connection
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool == null) {
+                return;
+            }
+            int demand = pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+            current = demand;
+            samples[next] = demand;
+            next = (next + 1) % samples.length;
+            int max = 0;
+            for (int sample : samples) {
+                max = Math.max(max, sample);
+            }
+            peak = max;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.residentialhub.runtime;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads pinned to their carrier, from the JDK's own
+ * jdk.VirtualThreadPinned flight recorder events.
+ *
+ * A virtual thread that blocks inside {@code synchronized} (or native code)
+ * holds its carrier thread, and with only as many carriers as cores a few of
+ * those stall every request. Each pin is timed under the first frame in the
+ * application's package, the code to change; the stack of a new site is
+ * logged once.
+ */
+@Slf4j
+public class PinnedThreadMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String OTHER_SITE = "other";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final MeterRegistry meterRegistry;
+    private final RuntimeProperties.Pinning properties;
+    private final Map<String, Timer> sites = new ConcurrentHashMap<>();
+    private volatile RecordingStream stream;
+
+    public PinnedThreadMonitor(MeterRegistry meterRegistry, RuntimeProperties.Pinning properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(properties.getThresholdMs())).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        log.info("Reporting virtual thread pins longer than {} ms", properties.getThresholdMs());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = frames(event.getStackTrace());
+        String site = site(frames);
+        Timer timer = sites.get(site);
+        if (timer == null) {
+            if (sites.size() >= properties.getMaxSites()) {
+                site = OTHER_SITE;
+            }
+            timer = sites.computeIfAbsent(site, s -> Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .tag("site", s)
+                .register(meterRegistry));
+            if (!OTHER_SITE.equals(site)) {
+                log.warn("Virtual thread pinned for {} ms at {}:\n\t{}", event.getDuration().toMillis(), site,
+                    frames.stream().limit(LOGGED_FRAMES).map(PinnedThreadMonitor::describe)
+                        .collect(Collectors.joining("\n\t")));
+            }
+        }
+        timer.record(event.getDuration());
+    }
+
+    private String site(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod().getType().getName().startsWith(properties.getApplicationPackage())) {
+                return describe(frame);
+            }
+        }
+        return frames.isEmpty() ? OTHER_SITE : describe(frames.get(0));
+    }
+
+    private static List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+        return stackTrace != null ? stackTrace.getFrames() : List.of();
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+}
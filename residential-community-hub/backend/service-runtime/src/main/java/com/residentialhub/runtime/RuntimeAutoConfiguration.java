@@ -0,0 +1,81 @@
+package com.residentialhub.runtime;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Runtime wiring shared by the services that can run on virtual threads.
+ *
+ * spring.threads.virtual.enabled switches Tomcat, the application task
+ * executor, the scheduler and the Boot-configured listener container factory;
+ * the listener factories a service builds itself are switched here. Pinning
+ * diagnostics only exist in virtual mode, pool sizing metrics in both.
+ */
+@AutoConfiguration(after = {DataSourceAutoConfiguration.class, RabbitAutoConfiguration.class})
+@EnableConfigurationProperties(RuntimeProperties.class)
+public class RuntimeAutoConfiguration {
+
+    @Bean
+    public ThreadingModeReporter threadingModeReporter(Environment environment,
+                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ThreadingModeReporter(environment, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(HikariDataSource.class)
+    @ConditionalOnBean(HikariDataSource.class)
+    static class PoolConfiguration {
+
+        @Bean
+        public HikariPoolAdvisor hikariPoolAdvisor(ObjectProvider<HikariDataSource> dataSources,
+                                                   RuntimeProperties properties,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+            return new HikariPoolAdvisor(dataSources.orderedStream().toList(), properties.getPool(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    static class VirtualThreadConfiguration {
+
+        @Bean
+        @ConditionalOnProperty(prefix = "runtime.pinning", name = "enabled", matchIfMissing = true)
+        public PinnedThreadMonitor pinnedThreadMonitor(RuntimeProperties properties,
+                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+            return new PinnedThreadMonitor(meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                properties.getPinning());
+        }
+
+        @Bean
+        @ConditionalOnClass(SimpleRabbitListenerContainerFactory.class)
+        static BeanPostProcessor virtualThreadListenerFactories() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                    if (bean instanceof SimpleRabbitListenerContainerFactory factory) {
+                        factory.setTaskExecutor(new VirtualThreadTaskExecutor(beanName + "-"));
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
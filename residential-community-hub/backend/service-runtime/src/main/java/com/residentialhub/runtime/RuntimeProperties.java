@@ -0,0 +1,42 @@
+package com.residentialhub.runtime;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "runtime")
+public class RuntimeProperties {
+
+    private Pinning pinning = new Pinning();
+
+    private Pool pool = new Pool();
+
+    @Data
+    public static class Pinning {
+
+        private boolean enabled = true;
+
+        // Pins shorter than this are not reported
+        private long thresholdMs = 20;
+
+        // The first frame in this package names the pinning site
+        private String applicationPackage = "com.residentialhub";
+
+        // Distinct sites tracked as separate meters; the rest count as "other"
+        private int maxSites = 50;
+    }
+
+    @Data
+    public static class Pool {
+
+        // Cores of the database server, for the (cores * 2) + spindles bound
+        private int databaseCores = 4;
+
+        private int effectiveSpindles = 1;
+
+        private long sampleIntervalMs = 1000;
+
+        // Peak demand is the highest sample within this window
+        private int windowSeconds = 300;
+    }
+}
@@ -0,0 +1,44 @@
+package com.residentialhub.runtime;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.env.Environment;
+
+/**
+ * Says at startup which threads serve requests, listeners and async work.
+ *
+ * spring.threads.virtual.enabled only takes effect on Java 21 or newer; on an
+ * older runtime Spring Boot silently stays on platform threads, so asking for
+ * virtual threads there gets a warning instead of going unnoticed.
+ */
+@Slf4j
+public class ThreadingModeReporter implements SmartInitializingSingleton {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    public ThreadingModeReporter(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        boolean active = Threading.VIRTUAL.isActive(environment);
+        Gauge.builder("jvm.threads.virtual.enabled", () -> active ? 1 : 0)
+            .description("1 when request handling, listeners and async work run on virtual threads")
+            .register(meterRegistry);
+
+        if (active) {
+            log.info("Virtual threads enabled on Java {}", JavaVersion.getJavaVersion());
+        } else if (requested) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                + "running on platform threads. Use a Java 21 runtime to enable them.", JavaVersion.getJavaVersion());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.residentialhub.socialservice.config;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitConfig {
+
+    public static final String PUSH_EXCHANGE = "push.exchange";
+    public static final String PUSH_QUEUE = "social.push";
+
+    @Bean
+    public TopicExchange pushExchange() {
+        return new TopicExchange(PUSH_EXCHANGE);
+    }
+
+    // Shared by all nodes; the routing table decides which node delivers.
+    // A push nobody picks up within a minute is stale, clients resync anyway
+    @Bean
+    public Queue pushQueue() {
+        return QueueBuilder.durable(PUSH_QUEUE).ttl(60000).build();
+    }
+
+    @Bean
+    public Binding pushBinding(Queue pushQueue, TopicExchange pushExchange) {
+        return BindingBuilder.bind(pushQueue).to(pushExchange).with("push.user.*");
+    }
+}
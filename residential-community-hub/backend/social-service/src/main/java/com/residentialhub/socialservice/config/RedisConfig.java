@@ -0,0 +1,29 @@
+package com.residentialhub.socialservice.config;
+
+import com.residentialhub.socialservice.repository.PushRouteRepository;
+import com.residentialhub.socialservice.service.PushRouter;
+import com.residentialhub.socialservice.service.PushSessionRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+@Configuration
+public class RedisConfig {
+
+    // Each node listens on its own channel for pushes forwarded by the others
+    @Bean
+    public RedisMessageListenerContainer pushForwardListener(RedisConnectionFactory connectionFactory,
+                                                             PushSessionRegistry registry,
+                                                             PushRouter pushRouter) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+            (message, pattern) -> pushRouter.onForwarded(new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(PushRouteRepository.nodeChannel(registry.nodeId())));
+        return container;
+    }
+}
@@ -0,0 +1,55 @@
+package com.residentialhub.socialservice.controller;
+
+import com.residentialhub.socialservice.service.PushSessionRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+/**
+ * Server side of {@code /ws/push}. Clients only listen; anything they send
+ * counts as a sign of life, and a text {@code ping} is answered so browser
+ * code, which never sees protocol-level pings, can detect a dead connection.
+ */
+@Component
+@RequiredArgsConstructor
+public class PushWebSocketHandler extends TextWebSocketHandler {
+
+    public static final String USER_ID_ATTRIBUTE = "userId";
+
+    private static final String PING = "ping";
+    private static final String PONG_FRAME = "{\"kind\":\"pong\"}";
+
+    private final PushSessionRegistry registry;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        registry.register(session, (String) session.getAttributes().get(USER_ID_ATTRIBUTE));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        registry.touch(session);
+        if (PING.equals(message.getPayload())) {
+            registry.send(session, PONG_FRAME);
+        }
+    }
+
+    @Override
+    protected void handlePongMessage(WebSocketSession session, PongMessage message) {
+        registry.touch(session);
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        registry.unregister(session);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        registry.unregister(session);
+    }
+}
@@ -0,0 +1,75 @@
+package com.residentialhub.socialservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Cross-node routing table in Redis: for each user, a hash whose fields are
+ * the ids of the nodes holding one of their connections. Nodes refresh their
+ * users' keys on every heartbeat, so a node that dies without cleaning up
+ * falls out once the keys expire.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PushRouteRepository {
+
+    private static final String USER_KEY = "push:user:";
+    private static final String NODE_CHANNEL = "push:node:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public void add(String userId, String nodeId, long ttlSeconds) {
+        refresh(Set.of(userId), nodeId, ttlSeconds);
+    }
+
+    public void refresh(Collection<String> userIds, String nodeId, long ttlSeconds) {
+        String now = Long.toString(System.currentTimeMillis());
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (String userId : userIds) {
+                redis.hSet(USER_KEY + userId, nodeId, now);
+                redis.expire(USER_KEY + userId, ttlSeconds);
+            }
+            return null;
+        });
+    }
+
+    public void remove(String userId, String nodeId) {
+        redisTemplate.opsForHash().delete(USER_KEY + userId, nodeId);
+    }
+
+    public void removeAll(Collection<String> userIds, String nodeId) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (String userId : userIds) {
+                redis.hDel(USER_KEY + userId, nodeId);
+            }
+            return null;
+        });
+    }
+
+    public Set<String> findNodes(String userId) {
+        Set<Object> fields = redisTemplate.opsForHash().keys(USER_KEY + userId);
+        return fields.isEmpty() ? Set.of() : fields.stream().map(Object::toString).collect(Collectors.toSet());
+    }
+
+    /**
+     * Hands a frame to another node; returns how many nodes received it, so
+     * zero means the node is gone.
+     */
+    public long forward(String nodeId, String message) {
+        Long receivers = redisTemplate.convertAndSend(nodeChannel(nodeId), message);
+        return receivers != null ? receivers : 0;
+    }
+
+    public static String nodeChannel(String nodeId) {
+        return NODE_CHANNEL + nodeId;
+    }
+}
@@ -0,0 +1,93 @@
+package com.residentialhub.socialservice.service;
+
+import com.residentialhub.socialservice.config.RabbitConfig;
+import com.residentialhub.socialservice.repository.PushRouteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Routes pushes published on push.exchange as {@code push.user.<userId>} to
+ * the nodes holding that user's connections.
+ *
+ * All nodes share one queue, so each push is consumed once. The consumer
+ * looks the user up in the routing table and delivers locally or forwards to
+ * the owning node over Redis pub/sub; users with no connection cost a single
+ * lookup. The message body is passed through untouched as the frame payload,
+ * with the {@code x-push-kind} header (default {@code notification}) telling
+ * the client what it is.
+ */
+@Service
+@Slf4j
+public class PushRouter {
+
+    public static final String KIND_HEADER = "x-push-kind";
+
+    private static final String USER_ROUTING_PREFIX = "push.user.";
+    private static final String DEFAULT_KIND = "notification";
+    private static final Pattern KIND = Pattern.compile("[a-z][a-z0-9-]{0,31}");
+
+    private final PushSessionRegistry registry;
+    private final PushRouteRepository routes;
+
+    private final Counter delivered;
+    private final Counter forwarded;
+    private final Counter offline;
+
+    public PushRouter(PushSessionRegistry registry, PushRouteRepository routes, MeterRegistry meterRegistry) {
+        this.registry = registry;
+        this.routes = routes;
+        this.delivered = Counter.builder("social.push.routed").tag("route", "local").register(meterRegistry);
+        this.forwarded = Counter.builder("social.push.routed").tag("route", "forwarded").register(meterRegistry);
+        this.offline = Counter.builder("social.push.routed").tag("route", "offline").register(meterRegistry);
+    }
+
+    @RabbitListener(queues = RabbitConfig.PUSH_QUEUE)
+    public void onPush(Message message) {
+        String routingKey = message.getMessageProperties().getReceivedRoutingKey();
+        if (routingKey == null || !routingKey.startsWith(USER_ROUTING_PREFIX)) {
+            return;
+        }
+        String userId = routingKey.substring(USER_ROUTING_PREFIX.length());
+        String frame = frame(message.getMessageProperties().getHeader(KIND_HEADER),
+            new String(message.getBody(), StandardCharsets.UTF_8));
+
+        Set<String> nodes = routes.findNodes(userId);
+        if (nodes.isEmpty()) {
+            offline.increment();
+            return;
+        }
+        for (String node : nodes) {
+            if (node.equals(registry.nodeId())) {
+                registry.deliver(userId, frame);
+                delivered.increment();
+            } else if (routes.forward(node, userId + '\n' + frame) > 0) {
+                forwarded.increment();
+            } else {
+                // Nobody subscribed to that node's channel: it is gone
+                routes.remove(userId, node);
+            }
+        }
+    }
+
+    // Pushes forwarded to this node by another one
+    public void onForwarded(String message) {
+        int idx = message.indexOf('\n');
+        if (idx > 0) {
+            registry.deliver(message.substring(0, idx), message.substring(idx + 1));
+        }
+    }
+
+    private static String frame(Object kindHeader, String payload) {
+        String kind = kindHeader != null && KIND.matcher(kindHeader.toString()).matches()
+            ? kindHeader.toString() : DEFAULT_KIND;
+        return "{\"kind\":\"" + kind + "\",\"payload\":" + payload + "}";
+    }
+}
@@ -0,0 +1,230 @@
+package com.residentialhub.socialservice.service;
+
+import com.residentialhub.socialservice.repository.PushRouteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * WebSocket connections held by this node, by user.
+ *
+ * Sends go through a small pool and a per-connection bounded buffer, so a
+ * slow or stalled client is disconnected instead of holding up deliveries to
+ * everyone else; clients resync over REST when they reconnect. Every
+ * heartbeat pings each connection, closes the ones that stayed silent past
+ * the idle timeout (half-open TCP never reports a close) and refreshes this
+ * node's routes in Redis.
+ */
+@Service
+@Slf4j
+public class PushSessionRegistry {
+
+    private static final ByteBuffer PING = ByteBuffer.allocate(0);
+
+    private final PushRouteRepository routes;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<String, Set<PushSession>> byUser = new ConcurrentHashMap<>();
+    private final Map<String, PushSession> bySessionId = new ConcurrentHashMap<>();
+    private final ExecutorService senders;
+
+    private final long idleTimeoutMs;
+    private final long routeTtlSeconds;
+    private final int sendTimeLimitMs;
+    private final int sendBufferBytes;
+
+    private final Counter sent;
+    private final Counter evicted;
+
+    public PushSessionRegistry(PushRouteRepository routes,
+                               MeterRegistry meterRegistry,
+                               @Value("${social.push.sender-threads:8}") int senderThreads,
+                               @Value("${social.push.idle-timeout-ms:70000}") long idleTimeoutMs,
+                               @Value("${social.push.route-ttl-seconds:120}") long routeTtlSeconds,
+                               @Value("${social.push.send-time-limit-ms:5000}") int sendTimeLimitMs,
+                               @Value("${social.push.send-buffer-bytes:262144}") int sendBufferBytes) {
+        this.routes = routes;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.routeTtlSeconds = routeTtlSeconds;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.sendBufferBytes = sendBufferBytes;
+        this.senders = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread t = new Thread(r, "push-sender");
+            t.setDaemon(true);
+            return t;
+        });
+        this.sent = Counter.builder("social.push.frames.sent").register(meterRegistry);
+        this.evicted = Counter.builder("social.push.sessions.evicted")
+            .description("Connections closed for being idle or too slow")
+            .register(meterRegistry);
+        Gauge.builder("social.push.sessions", bySessionId, Map::size).register(meterRegistry);
+        Gauge.builder("social.push.users", byUser, Map::size).register(meterRegistry);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public void register(WebSocketSession raw, String userId) {
+        PushSession session = new PushSession(userId,
+            new ConcurrentWebSocketSessionDecorator(raw, sendTimeLimitMs, sendBufferBytes));
+        bySessionId.put(raw.getId(), session);
+        boolean[] first = new boolean[1];
+        byUser.compute(userId, (id, sessions) -> {
+            if (sessions == null) {
+                sessions = ConcurrentHashMap.newKeySet();
+                first[0] = true;
+            }
+            sessions.add(session);
+            return sessions;
+        });
+        if (first[0]) {
+            try {
+                routes.add(userId, nodeId, routeTtlSeconds);
+            } catch (RuntimeException e) {
+                // Pushes reach the user once the next heartbeat writes the route
+                log.warn("Adding push route for user {} failed: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    public void unregister(WebSocketSession raw) {
+        PushSession session = bySessionId.remove(raw.getId());
+        if (session == null) {
+            return;
+        }
+        boolean[] last = new boolean[1];
+        byUser.computeIfPresent(session.userId, (id, sessions) -> {
+            sessions.remove(session);
+            last[0] = sessions.isEmpty();
+            return last[0] ? null : sessions;
+        });
+        if (last[0]) {
+            // A reconnect racing this is re-added by the next heartbeat, and a
+            // route left behind only costs a forward nobody receives
+            try {
+                routes.remove(session.userId, nodeId);
+            } catch (RuntimeException e) {
+                log.debug("Removing push route for user {} failed: {}", session.userId, e.getMessage());
+            }
+        }
+    }
+
+    public void touch(WebSocketSession raw) {
+        PushSession session = bySessionId.get(raw.getId());
+        if (session != null) {
+            session.lastSeen = System.currentTimeMillis();
+        }
+    }
+
+    public void send(WebSocketSession raw, String frame) {
+        PushSession session = bySessionId.get(raw.getId());
+        if (session != null) {
+            send(session, new TextMessage(frame));
+        }
+    }
+
+    /**
+     * Sends a frame to every connection the user has on this node; returns
+     * how many there were.
+     */
+    public int deliver(String userId, String frame) {
+        Set<PushSession> sessions = byUser.get(userId);
+        if (sessions == null || sessions.isEmpty()) {
+            return 0;
+        }
+        TextMessage message = new TextMessage(frame);
+        for (PushSession session : sessions) {
+            send(session, message);
+        }
+        return sessions.size();
+    }
+
+    @Scheduled(fixedDelayString = "${social.push.heartbeat-ms:25000}")
+    public void heartbeat() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMs;
+        for (PushSession session : List.copyOf(bySessionId.values())) {
+            if (session.lastSeen < cutoff) {
+                evicted.increment();
+                close(session, CloseStatus.SESSION_NOT_RELIABLE);
+            } else {
+                send(session, new PingMessage(PING.duplicate()));
+            }
+        }
+        if (!byUser.isEmpty()) {
+            try {
+                routes.refresh(byUser.keySet(), nodeId, routeTtlSeconds);
+            } catch (RuntimeException e) {
+                log.warn("Refreshing push routes of {} users failed: {}", byUser.size(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Clients reconnect through the load balancer to a surviving node
+        try {
+            routes.removeAll(List.copyOf(byUser.keySet()), nodeId);
+        } catch (RuntimeException e) {
+            log.warn("Removing push routes on shutdown failed: {}", e.getMessage());
+        }
+        bySessionId.values().forEach(session -> close(session, CloseStatus.GOING_AWAY));
+        senders.shutdownNow();
+    }
+
+    private void send(PushSession session, WebSocketMessage<?> message) {
+        senders.execute(() -> {
+            try {
+                session.socket.sendMessage(message);
+                if (message instanceof TextMessage) {
+                    sent.increment();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The decorator gives up on a client over its time or buffer limit
+                log.debug("Push to session {} failed: {}", session.socket.getId(), e.getMessage());
+                evicted.increment();
+                close(session, CloseStatus.SESSION_NOT_RELIABLE);
+            }
+        });
+    }
+
+    private void close(PushSession session, CloseStatus status) {
+        try {
+            session.socket.close(status);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Closing push session {} failed: {}", session.socket.getId(), e.getMessage());
+        }
+        unregister(session.socket);
+    }
+
+    private static final class PushSession {
+        private final String userId;
+        private final WebSocketSession socket;
+        private volatile long lastSeen = System.currentTimeMillis();
+
+        private PushSession(String userId, WebSocketSession socket) {
+            this.userId = userId;
+            this.socket = socket;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.residentialhub.userservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.residentialhub.events.amqp.CompactEventMessageConverter;
+import com.residentialhub.events.codec.EventSchemaRegistry;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitConfig {
+
+    // Login events go out in the compact binary layout; anything else uses Jackson
+    @Bean
+    public MessageConverter eventMessageConverter(ObjectMapper objectMapper) {
+        return new CompactEventMessageConverter(EventSchemaRegistry.defaultRegistry(),
+            new Jackson2JsonMessageConverter(objectMapper));
+    }
+}
@@ -1,5 +1,6 @@
 package com.residentialhub.userservice.controller;
 
+import com.residentialhub.commons.dto.ApiResponse;
 import com.residentialhub.userservice.dto.*;
 import com.residentialhub.userservice.service.AuthService;
 import jakarta.validation.Valid;
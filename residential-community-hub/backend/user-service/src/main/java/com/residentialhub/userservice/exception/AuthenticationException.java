@@ -1,7 +1,10 @@
 package com.residentialhub.userservice.exception;
 
-public class AuthenticationException extends RuntimeException {
+import com.residentialhub.commons.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class AuthenticationException extends ApiException {
     public AuthenticationException(String message) {
-        super(message);
+        super(HttpStatus.UNAUTHORIZED, "AUTHENTICATION_FAILED", message);
     }
 }
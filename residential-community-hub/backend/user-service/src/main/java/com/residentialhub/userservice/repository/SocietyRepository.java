@@ -1,24 +1,33 @@
 package com.residentialhub.userservice.repository;
 
 import com.residentialhub.userservice.entity.Society;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+// Reads run read-only so they can be served by the replica; callers that
+// write join with their own read-write transaction. The active society lists
+// are served from the query cache, entities from the second-level cache.
 @Repository
+@Transactional(readOnly = true)
 public interface SocietyRepository extends JpaRepository<Society, String> {
 
     Optional<Society> findByName(String name);
 
     boolean existsByName(String name);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT s FROM Society s WHERE s.isActive = true")
     List<Society> findAllActive();
 
@@ -43,6 +52,7 @@ public interface SocietyRepository extends JpaRepository<Society, String> {
     @Query("SELECT COUNT(s) FROM Society s WHERE s.subscriptionStatus = :status")
     Long countBySubscriptionStatus(@Param("status") String status);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT s FROM Society s WHERE s.isVerified = true AND s.isActive = true")
     List<Society> findVerifiedAndActive();
 }
@@ -7,11 +7,15 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
+// Reads run read-only so they can be served by the replica; callers that
+// write join with their own read-write transaction
 @Repository
+@Transactional(readOnly = true)
 public interface UserRepository extends JpaRepository<User, String> {
 
     Optional<User> findByUsername(String username);
@@ -1,15 +1,16 @@
 package com.residentialhub.userservice.service;
 
+import com.residentialhub.commons.exception.ResourceNotFoundException;
+import com.residentialhub.events.LoginEvent;
+import com.residentialhub.outbox.OutboxPublisher;
 import com.residentialhub.userservice.dto.*;
 import com.residentialhub.userservice.entity.User;
 import com.residentialhub.userservice.exception.AuthenticationException;
-import com.residentialhub.userservice.exception.ResourceNotFoundException;
 import com.residentialhub.userservice.repository.UserRepository;
 import com.residentialhub.userservice.security.JwtTokenProvider;
 import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -28,7 +29,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final RedisTemplate<String, String> redisTemplate;
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxPublisher outboxPublisher;
 
     @Value("${jwt.expiration:86400000}")
     private long jwtExpiration;
@@ -183,21 +184,18 @@ public class AuthService {
         }
     }
 
+    // Written to the outbox in the login transaction; the relay publishes after commit
     private void publishLoginEvent(User user) {
-        try {
-            LoginEvent event = LoginEvent.builder()
-                .userId(user.getId())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .role(user.getRole().name())
-                .societyId(user.getSocietyId())
-                .timestamp(LocalDateTime.now())
-                .build();
-            
-            rabbitTemplate.convertAndSend("auth.exchange", "auth.login", event);
-        } catch (Exception e) {
-            log.warn("Failed to publish login event: {}", e.getMessage());
-        }
+        LoginEvent event = LoginEvent.builder()
+            .userId(user.getId())
+            .username(user.getUsername())
+            .email(user.getEmail())
+            .role(user.getRole().name())
+            .societyId(user.getSocietyId())
+            .timestamp(LocalDateTime.now())
+            .build();
+
+        outboxPublisher.publish("auth.exchange", "auth.login", "user", user.getId(), event);
     }
 
     private UserResponse mapToUserResponse(User user) {
@@ -0,0 +1,45 @@
+package com.residentialhub.visitorservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.residentialhub.events.amqp.CompactEventMessageConverter;
+import com.residentialhub.events.codec.EventSchemaRegistry;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitConfig {
+
+    public static final String VISITOR_EXCHANGE = "visitor.exchange";
+
+    // Registered event types go out in the compact binary layout; anything
+    // else, and JSON from producers not yet switched over, uses Jackson
+    @Bean
+    public MessageConverter eventMessageConverter(ObjectMapper objectMapper) {
+        return new CompactEventMessageConverter(EventSchemaRegistry.defaultRegistry(),
+            new Jackson2JsonMessageConverter(objectMapper));
+    }
+
+    @Bean
+    public TopicExchange visitorExchange() {
+        return new TopicExchange(VISITOR_EXCHANGE);
+    }
+
+    // Every instance gets its own auto-delete queue so each node sees every
+    // visitor event and can push it to the gate clients connected to it
+    @Bean
+    public Queue visitorStreamQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding visitorStreamBinding(Queue visitorStreamQueue, TopicExchange visitorExchange) {
+        return BindingBuilder.bind(visitorStreamQueue).to(visitorExchange).with("visitor.#");
+    }
+}
@@ -1,13 +1,17 @@
 package com.residentialhub.visitorservice.controller;
 
+import com.residentialhub.commons.dto.ApiResponse;
 import com.residentialhub.visitorservice.dto.*;
 import com.residentialhub.visitorservice.service.VisitorService;
+import com.residentialhub.visitorservice.service.VisitorStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -18,6 +22,7 @@ import java.util.List;
 public class VisitorController {
 
     private final VisitorService visitorService;
+    private final VisitorStreamService visitorStreamService;
 
     @PostMapping
     public ResponseEntity<ApiResponse<VisitorDto>> createVisitor(
@@ -27,6 +32,30 @@ public class VisitorController {
         return ResponseEntity.ok(ApiResponse.success(visitor, "Visitor created successfully"));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<List<VisitorDto>>> createVisitorGroup(
+            @Valid @RequestBody CreateVisitorGroupRequest request,
+            @RequestHeader("X-User-Id") String userId) {
+        List<VisitorDto> visitors = visitorService.createVisitorGroup(request.getVisitors(), userId);
+        return ResponseEntity.ok(ApiResponse.success(visitors, "Visitor group registered successfully"));
+    }
+
+    @PostMapping("/bulk/approve")
+    public ResponseEntity<ApiResponse<BulkOperationResult>> bulkApprove(
+            @Valid @RequestBody BulkVisitorRequest request,
+            @RequestHeader("X-User-Id") String userId) {
+        BulkOperationResult result = visitorService.bulkApprove(request.getVisitorIds(), userId);
+        return ResponseEntity.ok(ApiResponse.success(result, "Bulk approval processed"));
+    }
+
+    @PostMapping("/bulk/checkout")
+    public ResponseEntity<ApiResponse<BulkOperationResult>> bulkCheckOut(
+            @Valid @RequestBody BulkVisitorRequest request,
+            @RequestHeader("X-User-Id") String userId) {
+        BulkOperationResult result = visitorService.bulkCheckOut(request.getVisitorIds(), userId);
+        return ResponseEntity.ok(ApiResponse.success(result, "Bulk check-out processed"));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<VisitorDto>> getVisitor(@PathVariable String id) {
         VisitorDto visitor = visitorService.getVisitor(id);
@@ -34,9 +63,21 @@ public class VisitorController {
     }
 
     @GetMapping("/society/{societyId}")
-    public ResponseEntity<ApiResponse<List<VisitorDto>>> getVisitorsBySociety(@PathVariable String societyId) {
-        List<VisitorDto> visitors = visitorService.getVisitorsBySociety(societyId);
-        return ResponseEntity.ok(ApiResponse.success(visitors));
+    public ResponseEntity<ApiResponse<VisitorFeed>> getVisitorFeed(
+            @PathVariable String societyId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        VisitorFeed feed = visitorService.getVisitorFeed(societyId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(feed));
+    }
+
+    @GetMapping("/society/{societyId}/open")
+    public ResponseEntity<ApiResponse<VisitorFeed>> getOpenVisitors(
+            @PathVariable String societyId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        VisitorFeed feed = visitorService.getOpenVisitors(societyId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(feed));
     }
 
     @GetMapping("/society/{societyId}/paged")
@@ -47,6 +88,15 @@ public class VisitorController {
         return ResponseEntity.ok(ApiResponse.success(visitors));
     }
 
+    @GetMapping("/society/{societyId}/search")
+    public ResponseEntity<ApiResponse<List<VisitorDto>>> searchVisitors(
+            @PathVariable String societyId,
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<VisitorDto> visitors = visitorService.searchVisitors(societyId, query, limit);
+        return ResponseEntity.ok(ApiResponse.success(visitors));
+    }
+
     @GetMapping("/host/{hostId}")
     public ResponseEntity<ApiResponse<List<VisitorDto>>> getVisitorsByHost(@PathVariable String hostId) {
         List<VisitorDto> visitors = visitorService.getVisitorsByHost(hostId);
@@ -59,6 +109,13 @@ public class VisitorController {
         return ResponseEntity.ok(ApiResponse.success(visitors));
     }
 
+    @GetMapping(value = "/society/{societyId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGateUpdates(
+            @PathVariable String societyId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return visitorStreamService.subscribe(societyId, lastEventId);
+    }
+
     @PostMapping("/{id}/approve")
     public ResponseEntity<ApiResponse<VisitorDto>> approveVisitor(
             @PathVariable String id,
@@ -1,46 +0,0 @@
-package com.residentialhub.visitorservice.dto;
-
-import com.fasterxml.jackson.annotation.JsonInclude;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.time.LocalDateTime;
-
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-@JsonInclude(JsonInclude.Include.NON_NULL)
-public class ApiResponse<T> {
-    private boolean success;
-    private T data;
-    private String message;
-    private LocalDateTime timestamp;
-    private String error;
-    private String errorCode;
-
-    public static <T> ApiResponse<T> success(T data, String message) {
-        return ApiResponse.<T>builder()
-            .success(true)
-            .data(data)
-            .message(message)
-            .timestamp(LocalDateTime.now())
-            .build();
-    }
-
-    public static <T> ApiResponse<T> success(T data) {
-        return success(data, "Success");
-    }
-
-    public static <T> ApiResponse<T> error(String message, String error, String errorCode) {
-        return ApiResponse.<T>builder()
-            .success(false)
-            .message(message)
-            .error(error)
-            .errorCode(errorCode)
-            .timestamp(LocalDateTime.now())
-            .build();
-    }
-}
@@ -0,0 +1,20 @@
+package com.residentialhub.visitorservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkVisitorRequest {
+    @NotEmpty(message = "At least one visitor ID is required")
+    @Size(max = 500, message = "At most 500 visitors per request")
+    private List<String> visitorIds;
+}
@@ -0,0 +1,21 @@
+package com.residentialhub.visitorservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateVisitorGroupRequest {
+    @NotEmpty(message = "At least one visitor is required")
+    @Size(max = 200, message = "At most 200 visitors per group")
+    private List<@Valid CreateVisitorRequest> visitors;
+}
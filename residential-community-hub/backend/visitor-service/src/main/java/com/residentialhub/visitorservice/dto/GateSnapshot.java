@@ -0,0 +1,21 @@
+package com.residentialhub.visitorservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GateSnapshot {
+    private List<VisitorDto> visitors;
+    private VisitorStats stats;
+    // Set when more open visitors exist than fit in the snapshot; the rest
+    // page through /open from nextCursor
+    private boolean truncated;
+    private String nextCursor;
+}
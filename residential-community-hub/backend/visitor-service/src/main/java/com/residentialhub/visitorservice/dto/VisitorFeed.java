@@ -0,0 +1,18 @@
+package com.residentialhub.visitorservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisitorFeed {
+    private List<VisitorDto> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -22,6 +22,7 @@ public class Visitor {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(columnDefinition = "uuid")
     private String id;
 
     @Column(nullable = false, length = 100)
@@ -36,7 +37,7 @@ public class Visitor {
     @Column(nullable = false, length = 200)
     private String purpose;
 
-    @Column(name = "host_id", nullable = false)
+    @Column(name = "host_id", nullable = false, columnDefinition = "uuid")
     private String hostId;
 
     @Column(name = "host_name", length = 100)
@@ -62,10 +63,10 @@ public class Visitor {
     @Column(name = "photo_url", length = 500)
     private String photoUrl;
 
-    @Column(name = "qr_code", length = 500)
+    @Column(name = "qr_code", columnDefinition = "text")
     private String qrCode;
 
-    @Column(name = "society_id", nullable = false)
+    @Column(name = "society_id", nullable = false, columnDefinition = "uuid")
     private String societyId;
 
     @Column(name = "approved_by")
@@ -1,33 +1,110 @@
 package com.residentialhub.visitorservice.repository;
 
 import com.residentialhub.visitorservice.entity.Visitor;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+// Lookups by id alone (findById, findAllByIdForUpdate) cannot be pruned, since
+// the partition key is created_at: they probe the (id, created_at) primary key
+// of every monthly partition, around 28 index probes at 24 months retention.
+// That is kept over putting created_at into the public visitor ids; queries
+// that scan rather than look up must bound created_at.
 @Repository
 public interface VisitorRepository extends JpaRepository<Visitor, String> {
 
-    @Query("SELECT v FROM Visitor v WHERE v.societyId = :societyId ORDER BY v.createdAt DESC")
-    List<Visitor> findBySocietyId(@Param("societyId") String societyId);
-
     @Query("SELECT v FROM Visitor v WHERE v.societyId = :societyId ORDER BY v.createdAt DESC")
     Page<Visitor> findBySocietyId(@Param("societyId") String societyId, Pageable pageable);
 
+    // Keyset feed: served by idx_visitors_society_feed
+    @Query("SELECT v FROM Visitor v WHERE v.societyId = :societyId ORDER BY v.createdAt DESC, v.id DESC")
+    List<Visitor> findFeedFirstPage(@Param("societyId") String societyId, Pageable pageable);
+
+    // Native so the cursor predicate stays a row comparison; Postgres turns
+    // (created_at, id) < (?, ?) into one index range scan, the OR form it may not
+    @Query(value = "SELECT v.* FROM visitors v WHERE v.society_id = CAST(:societyId AS uuid) " +
+                   "AND (v.created_at, v.id) < (:createdAt, CAST(:id AS uuid)) " +
+                   "ORDER BY v.created_at DESC, v.id DESC " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<Visitor> findFeedAfter(@Param("societyId") String societyId,
+                                @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") String id,
+                                @Param("limit") int limit);
+
+    // Pending, approved and checked-in visitors: served by the partial idx_visitors_society_open
+    @Query("SELECT v FROM Visitor v WHERE v.societyId = :societyId " +
+           "AND v.status IN (com.residentialhub.visitorservice.entity.Visitor$VisitorStatus.PENDING, " +
+           "com.residentialhub.visitorservice.entity.Visitor$VisitorStatus.APPROVED, " +
+           "com.residentialhub.visitorservice.entity.Visitor$VisitorStatus.CHECKED_IN) " +
+           "ORDER BY v.createdAt DESC, v.id DESC")
+    List<Visitor> findOpenBySocietyId(@Param("societyId") String societyId, Pageable pageable);
+
+    @Query(value = "SELECT v.* FROM visitors v WHERE v.society_id = CAST(:societyId AS uuid) " +
+                   "AND v.status IN ('PENDING', 'APPROVED', 'CHECKED_IN') " +
+                   "AND (v.created_at, v.id) < (:createdAt, CAST(:id AS uuid)) " +
+                   "ORDER BY v.created_at DESC, v.id DESC " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<Visitor> findOpenAfter(@Param("societyId") String societyId,
+                                @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") String id,
+                                @Param("limit") int limit);
+
     @Query("SELECT v FROM Visitor v WHERE v.societyId = :societyId AND v.status = :status ORDER BY v.createdAt DESC")
     List<Visitor> findBySocietyIdAndStatus(@Param("societyId") String societyId, @Param("status") Visitor.VisitorStatus status);
 
+    // Row locks keep the eligibility check and the set-based UPDATE below consistent
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Visitor v WHERE v.id IN :ids")
+    List<Visitor> findAllByIdForUpdate(@Param("ids") Collection<String> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Visitor v SET v.status = com.residentialhub.visitorservice.entity.Visitor$VisitorStatus.APPROVED, " +
+           "v.approvedBy = :approvedBy, v.approvedAt = :now " +
+           "WHERE v.id IN :ids AND v.status = com.residentialhub.visitorservice.entity.Visitor$VisitorStatus.PENDING")
+    int bulkApprove(@Param("ids") Collection<String> ids,
+                    @Param("approvedBy") String approvedBy,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Visitor v SET v.status = com.residentialhub.visitorservice.entity.Visitor$VisitorStatus.CHECKED_OUT, " +
+           "v.checkedOutBy = :checkedOutBy, v.exitTime = :now " +
+           "WHERE v.id IN :ids AND v.status = com.residentialhub.visitorservice.entity.Visitor$VisitorStatus.CHECKED_IN")
+    int bulkCheckOut(@Param("ids") Collection<String> ids,
+                     @Param("checkedOutBy") String checkedOutBy,
+                     @Param("now") LocalDateTime now);
+
+    // One statement for the whole set; RETURNING hands back the rows it changed
+    // so the caller can publish their events in the same transaction.
+    // createdSince bounds the scan to recent created_at partitions
+    @Query(value = "UPDATE visitors SET status = 'CHECKED_OUT', checked_out_by = :checkedOutBy, exit_time = :now " +
+                   "WHERE status = 'CHECKED_IN' AND created_at >= :createdSince AND entry_time < :enteredBefore " +
+                   "RETURNING *",
+           nativeQuery = true)
+    List<Visitor> autoCheckOut(@Param("createdSince") LocalDateTime createdSince,
+                               @Param("enteredBefore") LocalDateTime enteredBefore,
+                               @Param("checkedOutBy") String checkedOutBy,
+                               @Param("now") LocalDateTime now);
+
     @Query("SELECT v FROM Visitor v WHERE v.hostId = :hostId ORDER BY v.createdAt DESC")
     List<Visitor> findByHostId(@Param("hostId") String hostId);
 
-    @Query("SELECT v FROM Visitor v WHERE v.societyId = :societyId AND v.entryTime >= :startOfDay AND v.entryTime < :endOfDay")
+    // createdSince bounds the scan to recent created_at partitions
+    @Query("SELECT v FROM Visitor v WHERE v.societyId = :societyId AND v.createdAt >= :createdSince " +
+           "AND v.entryTime >= :startOfDay AND v.entryTime < :endOfDay")
     List<Visitor> findTodayVisitors(@Param("societyId") String societyId, 
+                                    @Param("createdSince") LocalDateTime createdSince,
                                     @Param("startOfDay") LocalDateTime startOfDay, 
                                     @Param("endOfDay") LocalDateTime endOfDay);
 
@@ -37,6 +114,19 @@ public interface VisitorRepository extends JpaRepository<Visitor, String> {
     @Query("SELECT COUNT(v) FROM Visitor v WHERE v.societyId = :societyId AND v.createdAt >= :startDate")
     Long countVisitorsSince(@Param("societyId") String societyId, @Param("startDate") LocalDateTime startDate);
 
-    @Query("SELECT v FROM Visitor v WHERE v.societyId = :societyId AND (v.name LIKE %:search% OR v.phone LIKE %:search% OR v.purpose LIKE %:search%)")
-    List<Visitor> searchVisitors(@Param("societyId") String societyId, @Param("search") String search);
+    // Served by the trigram GIN indexes on name and purpose
+    @Query(value = "SELECT v.* FROM visitors v WHERE v.society_id = CAST(:societyId AS uuid) " +
+                   "AND (v.name ILIKE '%' || :term || '%' OR v.purpose ILIKE '%' || :term || '%') " +
+                   "ORDER BY GREATEST(similarity(v.name, :term), similarity(v.purpose, :term)) DESC, v.created_at DESC " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<Visitor> searchByText(@Param("societyId") String societyId, @Param("term") String term, @Param("limit") int limit);
+
+    // Served by idx_visitors_society_phone_digits; the expression must match the index
+    @Query(value = "SELECT v.* FROM visitors v WHERE v.society_id = CAST(:societyId AS uuid) " +
+                   "AND regexp_replace(v.phone, '[^0-9+]', '', 'g') LIKE :prefix || '%' " +
+                   "ORDER BY v.created_at DESC " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<Visitor> searchByPhonePrefix(@Param("societyId") String societyId, @Param("prefix") String prefix, @Param("limit") int limit);
 }
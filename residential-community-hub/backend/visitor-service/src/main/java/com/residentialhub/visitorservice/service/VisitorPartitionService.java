@@ -0,0 +1,175 @@
+package com.residentialhub.visitorservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VisitorPartitionService {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String PARTITION_PREFIX = "visitors_p";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    @Value("${visitor.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${visitor.retention.enabled:false}")
+    private boolean retentionEnabled;
+
+    @Value("${visitor.retention.months:24}")
+    private int retentionMonths;
+
+    @Value("${visitor.retention.archive-dir:/var/lib/residentialhub/archive/visitors}")
+    private String archiveDir;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensureFuturePartitions();
+    }
+
+    @Scheduled(cron = "${visitor.partitions.maintenance-cron:0 30 2 * * *}")
+    public void runMaintenance() {
+        drainDefaultPartition();
+        ensureFuturePartitions();
+        if (retentionEnabled) {
+            archiveExpiredPartitions();
+        }
+    }
+
+    public void ensureFuturePartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate monthStart = current.plusMonths(i).atDay(1);
+            try {
+                String name = jdbcTemplate.queryForObject(
+                    "SELECT create_visitors_partition(?)", String.class, monthStart);
+                log.debug("Visitor partition ready: {}", name);
+            } catch (Exception e) {
+                log.error("Failed to create visitor partition for {}: {}", monthStart, e.getMessage());
+            }
+        }
+    }
+
+    // Rows in visitors_default are moved into partitions of their own month;
+    // months past retention are then archived by archiveExpiredPartitions
+    public void drainDefaultPartition() {
+        try {
+            Integer moved = jdbcTemplate.queryForObject("SELECT drain_visitors_default()", Integer.class);
+            if (moved != null && moved > 0) {
+                log.warn("Moved {} visitors out of visitors_default into monthly partitions", moved);
+            }
+        } catch (Exception e) {
+            log.error("Failed to drain visitors_default: {}", e.getMessage());
+        }
+    }
+
+    public void archiveExpiredPartitions() {
+        YearMonth oldestRetained = YearMonth.now().minusMonths(retentionMonths);
+
+        for (String partition : listMonthlyPartitions()) {
+            if (!monthOf(partition).isBefore(oldestRetained)) {
+                continue;
+            }
+            try {
+                // Detach first: rows for the month can no longer reach this
+                // table, so the export sees everything that gets dropped
+                jdbcTemplate.execute("ALTER TABLE visitors DETACH PARTITION " + partition);
+                Path archive = archivePartition(partition);
+                log.info("Archived visitor partition {} to {}", partition, archive);
+            } catch (Exception e) {
+                log.error("Failed to archive visitor partition {}: {}", partition, e.getMessage());
+            }
+        }
+
+        // Months detached by a run that failed before the drop
+        for (String partition : listDetachedPartitions()) {
+            try {
+                Path archive = archivePartition(partition);
+                log.info("Archived detached visitor partition {} to {}", partition, archive);
+            } catch (Exception e) {
+                log.error("Failed to archive detached visitor partition {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    private Path archivePartition(String partition) throws Exception {
+        Path archive = exportPartition(partition);
+        jdbcTemplate.execute("DROP TABLE " + partition);
+        return archive;
+    }
+
+    private YearMonth monthOf(String partition) {
+        return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+    }
+
+    private List<String> listMonthlyPartitions() {
+        return jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = 'visitors' AND c.relname ~ '^visitors_p[0-9]{6}$' " +
+            "ORDER BY c.relname",
+            String.class);
+    }
+
+    private List<String> listDetachedPartitions() {
+        return jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_class c " +
+            "WHERE c.relkind = 'r' AND c.relname ~ '^visitors_p[0-9]{6}$' AND NOT c.relispartition " +
+            "ORDER BY c.relname",
+            String.class);
+    }
+
+    private Path exportPartition(String partition) throws Exception {
+        Path dir = Paths.get(archiveDir);
+        Files.createDirectories(dir);
+        Path target = dir.resolve(partition + ".csv.gz");
+        if (Files.exists(target)) {
+            // Late rows for an archived month come back through the default
+            // partition; keep the first archive rather than overwrite it
+            target = dir.resolve(partition + "_" + System.currentTimeMillis() + ".csv.gz");
+        }
+        Path partial = dir.resolve(partition + ".csv.gz.part");
+
+        // COPY streams rows straight from the server into the gzip stream
+        try (Connection connection = dataSource.getConnection();
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial), 64 * 1024)) {
+            PGConnection pg = connection.unwrap(PGConnection.class);
+            long rows = pg.getCopyAPI().copyOut(
+                "COPY " + partition + " TO STDOUT WITH (FORMAT csv, HEADER true)", out);
+            log.info("Exported {} rows from {}", rows, partition);
+        } catch (IOException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+
+        // Only a complete file takes the final name, so a crash never leaves a
+        // truncated archive next to a dropped partition
+        return Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
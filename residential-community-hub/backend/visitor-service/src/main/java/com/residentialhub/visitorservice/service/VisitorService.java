@@ -1,20 +1,33 @@
 package com.residentialhub.visitorservice.service;
 
+import com.residentialhub.commons.exception.ResourceNotFoundException;
+import com.residentialhub.events.VisitorBatchEvent;
+import com.residentialhub.events.VisitorEvent;
+import com.residentialhub.outbox.OutboxPublisher;
 import com.residentialhub.visitorservice.dto.*;
 import com.residentialhub.visitorservice.entity.Visitor;
-import com.residentialhub.visitorservice.exception.ResourceNotFoundException;
 import com.residentialhub.visitorservice.repository.VisitorRepository;
+import com.residentialhub.visitorservice.util.FeedCursor;
 import com.residentialhub.visitorservice.util.QrCodeGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,33 +36,30 @@ import java.util.stream.Collectors;
 public class VisitorService {
 
     private final VisitorRepository visitorRepository;
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxPublisher outboxPublisher;
     private final QrCodeGenerator qrCodeGenerator;
 
+    @Value("${visitor.auto-checkout.enabled:true}")
+    private boolean autoCheckoutEnabled;
+
+    // 0 or less drops the created_at bound and searches every partition
+    @Value("${visitor.today.entry-lookback-days:30}")
+    private int entryLookbackDays;
+
+    private static final int MAX_FEED_SIZE = 100;
+    private static final int MAX_SEARCH_RESULTS = 50;
+    private static final String AUTO_CHECKOUT_ACTOR = "SYSTEM";
+    private static final int AUTO_CHECKOUT_EVENT_BATCH = 500;
+    private static final Pattern PHONE_TERM = Pattern.compile("^\\+?[0-9][0-9 -]*$");
+
     @Transactional
     public VisitorDto createVisitor(CreateVisitorRequest request, String createdBy) {
         log.info("Creating visitor entry for: {}", request.getName());
 
-        Visitor visitor = Visitor.builder()
-            .name(request.getName())
-            .phone(request.getPhone())
-            .email(request.getEmail())
-            .purpose(request.getPurpose())
-            .hostId(request.getHostId())
-            .hostName(request.getHostName())
-            .hostApartment(request.getHostApartment())
-            .vehicleNumber(request.getVehicleNumber())
-            .photoUrl(request.getPhotoUrl())
-            .societyId(request.getSocietyId())
-            .status(Visitor.VisitorStatus.PENDING)
-            .build();
-
-        Visitor saved = visitorRepository.save(visitor);
+        Visitor saved = visitorRepository.save(buildVisitor(request));
 
         // Generate QR Code
-        String qrData = String.format("VISITOR:%s:%s:%s", saved.getId(), saved.getSocietyId(), saved.getPhone());
-        String qrCodeBase64 = qrCodeGenerator.generateQrCode(qrData, 200, 200);
-        saved.setQrCode(qrCodeBase64);
+        assignQrCode(saved);
         visitorRepository.save(saved);
 
         // Publish notification event
@@ -126,6 +136,59 @@ public class VisitorService {
         return mapToDto(saved);
     }
 
+    @Transactional
+    public List<VisitorDto> createVisitorGroup(List<CreateVisitorRequest> requests, String createdBy) {
+        log.info("Pre-registering group of {} visitors", requests.size());
+
+        List<Visitor> saved = visitorRepository.saveAll(
+            requests.stream().map(this::buildVisitor).collect(Collectors.toList()));
+        saved.forEach(this::assignQrCode);
+
+        publishVisitorBatchEvent("VISITOR_CREATED", saved.stream()
+            .map(v -> buildVisitorEvent(v, "VISITOR_CREATED"))
+            .collect(Collectors.toList()));
+
+        return saved.stream()
+            .map(this::mapToDto)
+            .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public BulkOperationResult bulkApprove(List<String> visitorIds, String approvedBy) {
+        log.info("Bulk approving {} visitors", visitorIds.size());
+        return applyBulkTransition(visitorIds,
+            Visitor.VisitorStatus.PENDING, Visitor.VisitorStatus.APPROVED, "VISITOR_APPROVED",
+            eligible -> visitorRepository.bulkApprove(eligible, approvedBy, LocalDateTime.now()));
+    }
+
+    @Transactional
+    public BulkOperationResult bulkCheckOut(List<String> visitorIds, String checkedOutBy) {
+        log.info("Bulk checking out {} visitors", visitorIds.size());
+        return applyBulkTransition(visitorIds,
+            Visitor.VisitorStatus.CHECKED_IN, Visitor.VisitorStatus.CHECKED_OUT, "VISITOR_CHECKED_OUT",
+            eligible -> visitorRepository.bulkCheckOut(eligible, checkedOutBy, LocalDateTime.now()));
+    }
+
+    @Scheduled(cron = "${visitor.auto-checkout.cron:0 55 23 * * *}")
+    @Transactional
+    public void autoCheckOutRemainingVisitors() {
+        if (!autoCheckoutEnabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Visitor> checkedOut = visitorRepository.autoCheckOut(
+            createdSince(now.toLocalDate().atStartOfDay()), now, AUTO_CHECKOUT_ACTOR, now);
+        // Same transaction as the UPDATE, so the check-outs and their events commit together
+        for (int from = 0; from < checkedOut.size(); from += AUTO_CHECKOUT_EVENT_BATCH) {
+            List<VisitorEvent> events = checkedOut.subList(from, Math.min(from + AUTO_CHECKOUT_EVENT_BATCH, checkedOut.size()))
+                .stream()
+                .map(visitor -> buildVisitorEvent(visitor, "VISITOR_CHECKED_OUT"))
+                .collect(Collectors.toList());
+            publishVisitorBatchEvent("VISITOR_CHECKED_OUT", events);
+        }
+        log.info("Auto checked out {} visitors at end of day", checkedOut.size());
+    }
+
     @Transactional(readOnly = true)
     public VisitorDto getVisitor(String visitorId) {
         Visitor visitor = visitorRepository.findById(visitorId)
@@ -134,11 +197,33 @@ public class VisitorService {
     }
 
     @Transactional(readOnly = true)
-    public List<VisitorDto> getVisitorsBySociety(String societyId) {
-        return visitorRepository.findBySocietyId(societyId)
-            .stream()
-            .map(this::mapToDto)
-            .collect(Collectors.toList());
+    public VisitorFeed getVisitorFeed(String societyId, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_FEED_SIZE);
+        // Fetch one extra row to learn whether another page exists
+        Pageable window = PageRequest.of(0, limit + 1);
+
+        List<Visitor> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = visitorRepository.findFeedFirstPage(societyId, window);
+        } else {
+            FeedCursor position = FeedCursor.decode(cursor);
+            rows = visitorRepository.findFeedAfter(societyId, position.createdAt(), position.id(), limit + 1);
+        }
+        return toFeed(rows, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public VisitorFeed getOpenVisitors(String societyId, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_FEED_SIZE);
+
+        List<Visitor> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = visitorRepository.findOpenBySocietyId(societyId, PageRequest.of(0, limit + 1));
+        } else {
+            FeedCursor position = FeedCursor.decode(cursor);
+            rows = visitorRepository.findOpenAfter(societyId, position.createdAt(), position.id(), limit + 1);
+        }
+        return toFeed(rows, limit);
     }
 
     @Transactional(readOnly = true)
@@ -160,12 +245,43 @@ public class VisitorService {
         LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
         LocalDateTime endOfDay = startOfDay.plusDays(1);
         
-        return visitorRepository.findTodayVisitors(societyId, startOfDay, endOfDay)
+        return visitorRepository.findTodayVisitors(societyId, createdSince(startOfDay), startOfDay, endOfDay)
             .stream()
             .map(this::mapToDto)
             .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public List<VisitorDto> searchVisitors(String societyId, String query, int limit) {
+        String term = query == null ? "" : query.trim();
+        if (term.isEmpty()) {
+            return List.of();
+        }
+        int max = Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS);
+
+        List<Visitor> results = PHONE_TERM.matcher(term).matches()
+            ? visitorRepository.searchByPhonePrefix(societyId, term.replaceAll("[^0-9+]", ""), max)
+            : visitorRepository.searchByText(societyId, escapeLike(term), max);
+
+        return results.stream()
+            .map(this::mapToDto)
+            .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public GateSnapshot getGateSnapshot(String societyId) {
+        VisitorFeed open = getOpenVisitors(societyId, null, MAX_FEED_SIZE);
+        // QR codes are only needed on the visitor's pass, not on the gate board
+        open.getItems().forEach(dto -> dto.setQrCode(null));
+
+        return GateSnapshot.builder()
+            .visitors(open.getItems())
+            .stats(getVisitorStats(societyId))
+            .truncated(open.isHasMore())
+            .nextCursor(open.getNextCursor())
+            .build();
+    }
+
     @Transactional(readOnly = true)
     public VisitorStats getVisitorStats(String societyId) {
         Long pending = visitorRepository.countBySocietyIdAndStatus(societyId, Visitor.VisitorStatus.PENDING);
@@ -185,22 +301,132 @@ public class VisitorService {
             .build();
     }
 
-    private void publishVisitorEvent(Visitor visitor, String eventType) {
-        try {
-            VisitorEvent event = VisitorEvent.builder()
-                .visitorId(visitor.getId())
-                .visitorName(visitor.getName())
-                .hostId(visitor.getHostId())
-                .societyId(visitor.getSocietyId())
-                .status(visitor.getStatus().name())
-                .eventType(eventType)
-                .timestamp(LocalDateTime.now())
-                .build();
-            
-            rabbitTemplate.convertAndSend("visitor.exchange", "visitor." + eventType.toLowerCase(), event);
-        } catch (Exception e) {
-            log.warn("Failed to publish visitor event: {}", e.getMessage());
+    private BulkOperationResult applyBulkTransition(List<String> visitorIds,
+                                                    Visitor.VisitorStatus from,
+                                                    Visitor.VisitorStatus to,
+                                                    String eventType,
+                                                    ToIntFunction<List<String>> update) {
+        Set<String> ids = new LinkedHashSet<>(visitorIds);
+        Map<String, Visitor> visitors = visitorRepository.findAllByIdForUpdate(ids)
+            .stream()
+            .collect(Collectors.toMap(Visitor::getId, Function.identity()));
+
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        List<Visitor> eligible = new ArrayList<>();
+        for (String id : ids) {
+            Visitor visitor = visitors.get(id);
+            if (visitor == null) {
+                results.add(BulkItemResult.builder().visitorId(id).success(false).error("Visitor not found").build());
+            } else if (visitor.getStatus() != from) {
+                results.add(BulkItemResult.builder().visitorId(id).success(false)
+                    .status(visitor.getStatus().name())
+                    .error("Visitor is " + visitor.getStatus().name() + ", expected " + from.name())
+                    .build());
+            } else {
+                eligible.add(visitor);
+                results.add(BulkItemResult.builder().visitorId(id).success(true).status(to.name()).build());
+            }
+        }
+
+        if (!eligible.isEmpty()) {
+            // One UPDATE for the whole set; the rows are locked, so all of them match
+            update.applyAsInt(eligible.stream().map(Visitor::getId).collect(Collectors.toList()));
+
+            List<VisitorEvent> events = new ArrayList<>(eligible.size());
+            for (Visitor visitor : eligible) {
+                visitor.setStatus(to);
+                events.add(buildVisitorEvent(visitor, eventType));
+            }
+            publishVisitorBatchEvent(eventType, events);
+        }
+
+        return BulkOperationResult.builder()
+            .requested(ids.size())
+            .succeeded(eligible.size())
+            .failed(ids.size() - eligible.size())
+            .results(results)
+            .build();
+    }
+
+    private Visitor buildVisitor(CreateVisitorRequest request) {
+        return Visitor.builder()
+            .name(request.getName())
+            .phone(request.getPhone())
+            .email(request.getEmail())
+            .purpose(request.getPurpose())
+            .hostId(request.getHostId())
+            .hostName(request.getHostName())
+            .hostApartment(request.getHostApartment())
+            .vehicleNumber(request.getVehicleNumber())
+            .photoUrl(request.getPhotoUrl())
+            .societyId(request.getSocietyId())
+            .status(Visitor.VisitorStatus.PENDING)
+            .build();
+    }
+
+    private void assignQrCode(Visitor visitor) {
+        String qrData = String.format("VISITOR:%s:%s:%s", visitor.getId(), visitor.getSocietyId(), visitor.getPhone());
+        visitor.setQrCode(qrCodeGenerator.generateQrCode(qrData, 200, 200));
+    }
+
+    private VisitorFeed toFeed(List<Visitor> rows, int limit) {
+        boolean hasMore = rows.size() > limit;
+        List<Visitor> page = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Visitor last = page.get(page.size() - 1);
+            nextCursor = new FeedCursor(last.getCreatedAt(), last.getId()).encode();
         }
+
+        return VisitorFeed.builder()
+            .items(page.stream().map(this::mapToDto).collect(Collectors.toList()))
+            .nextCursor(nextCursor)
+            .hasMore(hasMore)
+            .build();
+    }
+
+    // Passes checked in today were registered at most entryLookbackDays
+    // earlier; the bound keeps older created_at partitions out of the scan.
+    // A pass registered before that is neither on today's list nor checked
+    // out at night.
+    private LocalDateTime createdSince(LocalDateTime startOfDay) {
+        return entryLookbackDays > 0
+            ? startOfDay.minusDays(entryLookbackDays)
+            : LocalDateTime.of(1970, 1, 1, 0, 0);
+    }
+
+    private String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // Written to the outbox in the caller's transaction; the relay publishes after commit
+    private void publishVisitorEvent(Visitor visitor, String eventType) {
+        VisitorEvent event = buildVisitorEvent(visitor, eventType);
+        outboxPublisher.publish("visitor.exchange", "visitor." + eventType.toLowerCase(),
+            "visitor", visitor.getId(), event);
+    }
+
+    private void publishVisitorBatchEvent(String eventType, List<VisitorEvent> events) {
+        VisitorBatchEvent batch = VisitorBatchEvent.builder()
+            .eventType(eventType)
+            .events(events)
+            .timestamp(LocalDateTime.now())
+            .build();
+        outboxPublisher.publish("visitor.exchange", "visitor.batch." + eventType.toLowerCase(),
+            "visitor-batch", null, batch);
+    }
+
+    private VisitorEvent buildVisitorEvent(Visitor visitor, String eventType) {
+        return VisitorEvent.builder()
+            .visitorId(visitor.getId())
+            .visitorName(visitor.getName())
+            .hostId(visitor.getHostId())
+            .societyId(visitor.getSocietyId())
+            .status(visitor.getStatus().name())
+            .eventType(eventType)
+            .timestamp(LocalDateTime.now())
+            .build();
     }
 
     private VisitorDto mapToDto(Visitor visitor) {
@@ -0,0 +1,289 @@
+package com.residentialhub.visitorservice.service;
+
+import com.residentialhub.events.VisitorBatchEvent;
+import com.residentialhub.events.VisitorEvent;
+import com.residentialhub.visitorservice.dto.GateSnapshot;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitHandler;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes visitor state changes to gate clients over SSE.
+ *
+ * Protocol: a new subscriber receives a {@code snapshot} event followed by
+ * {@code delta} events. Every event id is {@code <epoch>-<offset>}; a client
+ * reconnecting with that id in {@code Last-Event-ID} is replayed the deltas
+ * it missed from a per-society ring buffer, or gets a fresh snapshot when the
+ * epoch changed (node restart) or the buffer no longer reaches back that far.
+ * Deltas are idempotent per visitor, so overlap with a snapshot is harmless.
+ * A snapshot holds at most one page of open visitors; when it is
+ * {@code truncated}, the client fetches the rest from {@code /open} starting
+ * at its {@code nextCursor}.
+ *
+ * A society's channel is dropped with its last subscriber. The next channel
+ * for it numbers its offsets above anything the old one handed out, so an id
+ * from before always resolves to a snapshot.
+ */
+@Service
+@Slf4j
+@RabbitListener(queues = "#{visitorStreamQueue.name}")
+public class VisitorStreamService {
+
+    private static final String EVENT_SNAPSHOT = "snapshot";
+    private static final String EVENT_DELTA = "delta";
+
+    private final VisitorService visitorService;
+    private final Map<String, SocietyChannel> channels = new ConcurrentHashMap<>();
+    private final AtomicLong generations = new AtomicLong();
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    private final ExecutorService senders;
+
+    @Value("${visitor.stream.replay-buffer-size:256}")
+    private int replayBufferSize;
+
+    @Value("${visitor.stream.subscriber-queue-size:512}")
+    private int subscriberQueueSize;
+
+    @Value("${visitor.stream.timeout-ms:1800000}")
+    private long emitterTimeout;
+
+    public VisitorStreamService(VisitorService visitorService,
+                                @Value("${visitor.stream.sender-threads:4}") int senderThreads) {
+        this.visitorService = visitorService;
+        this.senders = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread t = new Thread(r, "visitor-sse-sender");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public SseEmitter subscribe(String societyId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout);
+        Subscriber subscriber = join(societyId, emitter, parseOffset(lastEventId));
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        if (subscriber.snapshotOffset >= 0) {
+            // Snapshot is sent while the subscriber is marked as draining, so
+            // deltas published meanwhile queue up behind it instead of racing it
+            senders.execute(() -> {
+                try {
+                    GateSnapshot snapshot = visitorService.getGateSnapshot(societyId);
+                    emitter.send(SseEmitter.event().name(EVENT_SNAPSHOT).id(eventId(subscriber.snapshotOffset)).data(snapshot));
+                    subscriber.draining.set(false);
+                    scheduleDrain(subscriber);
+                } catch (Exception e) {
+                    unsubscribe(subscriber);
+                    emitter.completeWithError(e);
+                }
+            });
+        } else {
+            subscriber.draining.set(false);
+            scheduleDrain(subscriber);
+        }
+        return emitter;
+    }
+
+    @RabbitHandler
+    public void onVisitorEvent(VisitorEvent event) {
+        append(event);
+    }
+
+    @RabbitHandler
+    public void onVisitorBatchEvent(VisitorBatchEvent batch) {
+        if (batch.getEvents() != null) {
+            batch.getEvents().forEach(this::append);
+        }
+    }
+
+    private void append(VisitorEvent event) {
+        if (event.getSocietyId() == null) {
+            return;
+        }
+        SocietyChannel channel = channels.get(event.getSocietyId());
+        if (channel == null) {
+            return;
+        }
+
+        List<Subscriber> targets;
+        synchronized (channel) {
+            long offset = ++channel.offset;
+            Delta delta = new Delta(offset, event);
+            channel.buffer.addLast(delta);
+            while (channel.buffer.size() > replayBufferSize) {
+                channel.buffer.removeFirst();
+            }
+            targets = new ArrayList<>(channel.subscribers);
+            for (Subscriber subscriber : targets) {
+                if (!subscriber.queue.offer(delta)) {
+                    // Slow client: drop it rather than buffer without bound.
+                    // EventSource reconnects with Last-Event-ID and resumes.
+                    unsubscribe(subscriber);
+                    subscriber.emitter.complete();
+                }
+            }
+        }
+        targets.forEach(this::scheduleDrain);
+    }
+
+    @Scheduled(fixedDelayString = "${visitor.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        channels.forEach((societyId, channel) -> {
+            for (Subscriber subscriber : channel.subscribers) {
+                senders.execute(() -> {
+                    try {
+                        subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                    } catch (IOException | IllegalStateException e) {
+                        unsubscribe(subscriber);
+                    }
+                });
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        channels.values().forEach(channel -> channel.subscribers.forEach(s -> s.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    private Subscriber join(String societyId, SseEmitter emitter, Long resumeFrom) {
+        while (true) {
+            SocietyChannel channel = channels.computeIfAbsent(societyId,
+                id -> new SocietyChannel(generations.incrementAndGet() << 32));
+            synchronized (channel) {
+                // Lost the race with the last subscriber leaving; take the next channel
+                if (channel.closed) {
+                    continue;
+                }
+                Subscriber subscriber = new Subscriber(societyId, channel, emitter, subscriberQueueSize);
+                if (resumeFrom == null || !channel.replayInto(subscriber, resumeFrom)) {
+                    subscriber.snapshotOffset = channel.offset;
+                }
+                channel.subscribers.add(subscriber);
+                return subscriber;
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        SocietyChannel channel = subscriber.channel;
+        synchronized (channel) {
+            if (channel.subscribers.remove(subscriber) && channel.subscribers.isEmpty()) {
+                channel.closed = true;
+                channels.remove(subscriber.societyId, channel);
+            }
+        }
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        senders.execute(() -> {
+            try {
+                Delta delta;
+                while ((delta = subscriber.queue.poll()) != null) {
+                    subscriber.emitter.send(SseEmitter.event().name(EVENT_DELTA).id(eventId(delta.offset())).data(delta.event()));
+                }
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(subscriber);
+                subscriber.queue.clear();
+                subscriber.emitter.completeWithError(e);
+                return;
+            } finally {
+                subscriber.draining.set(false);
+            }
+            // A delta may have arrived between the last poll and the reset above
+            scheduleDrain(subscriber);
+        });
+    }
+
+    private String eventId(long offset) {
+        return epoch + "-" + offset;
+    }
+
+    private Long parseOffset(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Delta(long offset, VisitorEvent event) {
+    }
+
+    private static final class Subscriber {
+        private final String societyId;
+        private final SocietyChannel channel;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Delta> queue;
+        // Starts true so nothing is sent before the snapshot or replay is in place
+        private final AtomicBoolean draining = new AtomicBoolean(true);
+        // Offset the snapshot stands for; -1 when the missed deltas were replayed
+        private long snapshotOffset = -1;
+
+        private Subscriber(String societyId, SocietyChannel channel, SseEmitter emitter, int capacity) {
+            this.societyId = societyId;
+            this.channel = channel;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    private static final class SocietyChannel {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final ArrayDeque<Delta> buffer = new ArrayDeque<>();
+        private long offset;
+        private boolean closed;
+
+        private SocietyChannel(long offset) {
+            this.offset = offset;
+        }
+
+        // Caller holds the channel lock
+        private boolean replayInto(Subscriber subscriber, long resumeFrom) {
+            if (resumeFrom > offset) {
+                return false;
+            }
+            Delta oldest = buffer.peekFirst();
+            long firstAvailable = oldest != null ? oldest.offset() : offset + 1;
+            if (resumeFrom + 1 < firstAvailable) {
+                return false;
+            }
+            for (Delta delta : buffer) {
+                if (delta.offset() > resumeFrom && !subscriber.queue.offer(delta)) {
+                    subscriber.queue.clear();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+-- Bookkeeping for analytics-service's daily stats rebuild jobs
+
+-- ============================================
+-- ANALYTICS BACKFILL JOBS TABLE
+-- ============================================
+CREATE TABLE analytics_backfill_jobs (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    from_date DATE NOT NULL,
+    to_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    total_partitions INTEGER NOT NULL DEFAULT 0,
+    completed_partitions INTEGER NOT NULL DEFAULT 0,
+    failed_partitions INTEGER NOT NULL DEFAULT 0,
+    -- Instance running the job; another instance takes over once the
+    -- heartbeat goes stale
+    owner VARCHAR(100),
+    heartbeat_at TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX idx_analytics_backfill_jobs_active ON analytics_backfill_jobs(created_at)
+    WHERE status IN ('PENDING', 'RUNNING');
+
+-- ============================================
+-- ANALYTICS BACKFILL CHECKPOINTS TABLE
+-- ============================================
+-- One row per finished (society, date chunk), written in the same
+-- transaction as the chunk's stats
+CREATE TABLE analytics_backfill_checkpoints (
+    job_id UUID NOT NULL REFERENCES analytics_backfill_jobs(id) ON DELETE CASCADE,
+    society_id UUID NOT NULL,
+    chunk_start DATE NOT NULL,
+    rows_written INTEGER NOT NULL,
+    completed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (job_id, society_id, chunk_start)
+);
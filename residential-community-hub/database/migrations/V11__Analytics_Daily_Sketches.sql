@@ -0,0 +1,17 @@
+-- HyperLogLog sketches of distinct active users per society and day,
+-- written by analytics-service
+
+-- ============================================
+-- ANALYTICS DAILY SKETCHES TABLE
+-- ============================================
+CREATE TABLE analytics_daily_sketches (
+    society_id UUID NOT NULL,
+    stat_date DATE NOT NULL,
+    -- Serialized sketch; merged in the service by register-wise maximum
+    sketch BYTEA NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (society_id, stat_date)
+);
+
+-- Platform-wide rollups scan by date across all societies
+CREATE INDEX idx_analytics_daily_sketches_date ON analytics_daily_sketches(stat_date);
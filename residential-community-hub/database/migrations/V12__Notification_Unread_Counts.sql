@@ -0,0 +1,85 @@
+-- Unread notification badge and inbox listing for notification-service
+
+-- ============================================
+-- NOTIFICATION INDEXES
+-- ============================================
+-- A boolean index on its own is never selective enough to be used
+DROP INDEX IF EXISTS idx_notifications_read;
+
+-- Inbox pages are keyset scans over one user's newest notifications
+DROP INDEX IF EXISTS idx_notifications_user;
+CREATE INDEX idx_notifications_user ON notifications(user_id, created_at DESC, id DESC);
+
+-- Unread rows are a small, hot slice of each user's history
+CREATE INDEX idx_notifications_user_unread ON notifications(user_id, created_at DESC)
+    WHERE is_read = false;
+
+-- ============================================
+-- NOTIFICATION UNREAD COUNTS TABLE
+-- ============================================
+CREATE TABLE notification_unread_counts (
+    user_id UUID PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    unread INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO notification_unread_counts (user_id, unread)
+SELECT user_id, COUNT(*) FROM notifications WHERE is_read = false GROUP BY user_id;
+
+-- Kept in step by statement-level triggers: a fan-out batch inserting
+-- thousands of rows touches each recipient's counter once, and counters are
+-- locked in user_id order so concurrent batches cannot deadlock
+CREATE OR REPLACE FUNCTION apply_notification_unread_delta()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO notification_unread_counts (user_id, unread)
+        SELECT user_id, COUNT(*) FROM new_rows WHERE is_read = false
+        GROUP BY user_id ORDER BY user_id
+        ON CONFLICT (user_id) DO UPDATE
+            SET unread = notification_unread_counts.unread + EXCLUDED.unread,
+                updated_at = CURRENT_TIMESTAMP;
+    ELSIF TG_OP = 'UPDATE' THEN
+        -- Marking read and unread in one statement nets out per user;
+        -- increments and decrements touch disjoint users
+        WITH deltas AS (
+            SELECT user_id, SUM(delta) AS delta FROM (
+                SELECT user_id, 1 AS delta FROM new_rows WHERE is_read = false
+                UNION ALL
+                SELECT user_id, -1 AS delta FROM old_rows WHERE is_read = false
+            ) d
+            GROUP BY user_id HAVING SUM(delta) <> 0
+        ), increments AS (
+            INSERT INTO notification_unread_counts (user_id, unread)
+            SELECT user_id, delta FROM deltas WHERE delta > 0 ORDER BY user_id
+            ON CONFLICT (user_id) DO UPDATE
+                SET unread = notification_unread_counts.unread + EXCLUDED.unread,
+                    updated_at = CURRENT_TIMESTAMP
+        )
+        UPDATE notification_unread_counts c
+        SET unread = GREATEST(0, c.unread + d.delta), updated_at = CURRENT_TIMESTAMP
+        FROM deltas d
+        WHERE c.user_id = d.user_id AND d.delta < 0;
+    ELSE
+        -- Decrements never insert, so a cascade from a deleted user cannot
+        -- trip the foreign key
+        UPDATE notification_unread_counts c
+        SET unread = GREATEST(0, c.unread - d.removed), updated_at = CURRENT_TIMESTAMP
+        FROM (SELECT user_id, COUNT(*) AS removed FROM old_rows WHERE is_read = false GROUP BY user_id) d
+        WHERE c.user_id = d.user_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER notifications_unread_on_insert AFTER INSERT ON notifications
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION apply_notification_unread_delta();
+
+CREATE TRIGGER notifications_unread_on_update AFTER UPDATE ON notifications
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION apply_notification_unread_delta();
+
+CREATE TRIGGER notifications_unread_on_delete AFTER DELETE ON notifications
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION apply_notification_unread_delta();
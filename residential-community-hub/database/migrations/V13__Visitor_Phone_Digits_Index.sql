@@ -0,0 +1,9 @@
+-- Phone prefix search on the digits only
+
+-- Phones are stored as typed ("98765-43210", "+91 98765 43210"). The search
+-- strips separators from the term, so the column has to be compared the same
+-- way; the expression below must match VisitorRepository.searchByPhonePrefix.
+DROP INDEX IF EXISTS idx_visitors_society_phone;
+
+CREATE INDEX idx_visitors_society_phone_digits
+    ON visitors(society_id, (regexp_replace(phone, '[^0-9+]', '', 'g')) text_pattern_ops);
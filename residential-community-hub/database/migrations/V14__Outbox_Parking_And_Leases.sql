@@ -0,0 +1,22 @@
+-- Outbox relay: park poison events and hand out per-source leases
+
+-- A row that keeps failing is parked after outbox.max-attempts tries so it
+-- stops blocking the rows behind it. Parked rows stay for inspection; clear
+-- parked_at (and attempts) to send one again.
+ALTER TABLE outbox_events ADD COLUMN parked_at TIMESTAMP;
+
+DROP INDEX IF EXISTS idx_outbox_events_source;
+CREATE INDEX idx_outbox_events_source ON outbox_events(source, id) WHERE parked_at IS NULL;
+CREATE INDEX idx_outbox_events_parked ON outbox_events(source, parked_at) WHERE parked_at IS NOT NULL;
+
+-- ============================================
+-- OUTBOX RELAY LEASES TABLE
+-- ============================================
+-- One relay per source drains the outbox, so events of an aggregate keep
+-- their commit order. The lease replaces a transaction-scoped lock so that
+-- broker confirms are awaited without an open transaction or connection.
+CREATE TABLE outbox_relay_leases (
+    source VARCHAR(50) PRIMARY KEY,
+    owner VARCHAR(50) NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
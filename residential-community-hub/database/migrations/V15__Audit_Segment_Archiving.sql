@@ -0,0 +1,7 @@
+-- Audit retention keeps the hash chain intact
+
+-- Retention drops whole months of audit_logs, but the segments sealing them
+-- stay: later segments still chain to them. An archived segment's rows live
+-- in the month's CSV export, so the integrity check verifies its link and
+-- hash but no longer expects its rows in the table.
+ALTER TABLE audit_segments ADD COLUMN archived_at TIMESTAMP;
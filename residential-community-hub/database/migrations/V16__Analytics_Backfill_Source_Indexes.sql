@@ -0,0 +1,13 @@
+-- Backfill reads each source table by one society and a date range
+
+-- Only visitors is partitioned (and already has society_id, created_at via
+-- idx_visitors_society_feed); the other sources had separate society and
+-- time indexes, so a month of one society meant a bitmap AND or a scan of
+-- the whole society.
+CREATE INDEX idx_maintenance_society_created ON maintenance_requests(society_id, created_at);
+CREATE INDEX idx_social_posts_society_created ON social_posts(society_id, created_at);
+CREATE INDEX idx_messages_society_created ON messages(society_id, created_at);
+CREATE INDEX idx_users_society_created ON users(society_id, created_at);
+
+-- Only paid rows are summed
+CREATE INDEX idx_payments_society_paid ON payments(society_id, paid_at) WHERE status = 'PAID';
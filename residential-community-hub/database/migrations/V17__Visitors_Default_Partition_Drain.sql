@@ -0,0 +1,39 @@
+-- Moves rows out of visitors_default into their monthly partitions
+
+-- A row lands in visitors_default when no partition covers its created_at
+-- (a month the maintenance job had not created yet, or one retention already
+-- dropped). Nothing else reads the default partition back out, so the nightly
+-- maintenance calls this to give each such month a real partition, which
+-- retention then archives like any other.
+CREATE OR REPLACE FUNCTION drain_visitors_default()
+RETURNS INTEGER AS $$
+DECLARE
+    m DATE;
+    n INTEGER;
+    moved INTEGER := 0;
+BEGIN
+    -- Attaching a month scans the default for rows in its range; new rows must
+    -- not slip in between the DELETE and that check
+    LOCK TABLE visitors_default IN EXCLUSIVE MODE;
+
+    FOR m IN SELECT DISTINCT date_trunc('month', created_at)::DATE FROM visitors_default ORDER BY 1 LOOP
+        CREATE TEMP TABLE visitors_default_drain (LIKE visitors);
+
+        WITH drained AS (
+            DELETE FROM visitors_default
+            WHERE created_at >= m AND created_at < m + INTERVAL '1 month'
+            RETURNING *
+        )
+        INSERT INTO visitors_default_drain SELECT * FROM drained;
+        GET DIAGNOSTICS n = ROW_COUNT;
+
+        PERFORM create_visitors_partition(m);
+        INSERT INTO visitors SELECT * FROM visitors_default_drain;
+        DROP TABLE visitors_default_drain;
+
+        moved := moved + n;
+    END LOOP;
+
+    RETURN moved;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,10 @@
+-- Approved visitors are still open at the gate
+
+-- An approved pass is waiting to be checked in, so the gate board and /open
+-- list it alongside pending and checked-in visitors. The partial index has
+-- to carry the same status list as VisitorRepository.findOpenBySocietyId
+-- and findOpenAfter, or the planner cannot use it.
+DROP INDEX IF EXISTS idx_visitors_society_open;
+
+CREATE INDEX idx_visitors_society_open ON visitors(society_id, created_at DESC, id DESC)
+    WHERE status IN ('PENDING', 'APPROVED', 'CHECKED_IN');
@@ -0,0 +1,13 @@
+-- Columns the Visitor entity maps but the visitors table never had
+
+-- Approve, check-in, check-out and reject record who acted and when, and the
+-- pass carries its QR code as a PNG data URL of a few KB. Actors are user
+-- ids, or SYSTEM for the nightly auto check-out, so they are text rather
+-- than UUID references.
+ALTER TABLE visitors
+    ADD COLUMN qr_code TEXT,
+    ADD COLUMN approved_by VARCHAR(50),
+    ADD COLUMN approved_at TIMESTAMP,
+    ADD COLUMN checked_in_by VARCHAR(50),
+    ADD COLUMN checked_out_by VARCHAR(50),
+    ADD COLUMN rejection_reason VARCHAR(500);
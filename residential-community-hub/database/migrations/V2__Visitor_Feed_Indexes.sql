@@ -0,0 +1,16 @@
+-- Composite indexes backing the keyset-paginated visitor feed
+
+-- ============================================
+-- VISITOR FEED INDEXES
+-- ============================================
+
+-- Matches ORDER BY created_at DESC, id DESC scoped to a society; the cursor
+-- predicate (created_at, id) < (?, ?) turns into a single index range scan.
+CREATE INDEX idx_visitors_society_feed ON visitors(society_id, created_at DESC, id DESC);
+
+-- Gate desk only cares about visitors that still need action.
+CREATE INDEX idx_visitors_society_open ON visitors(society_id, created_at DESC, id DESC)
+    WHERE status IN ('PENDING', 'CHECKED_IN');
+
+-- Superseded by the composite feed index (same leading column).
+DROP INDEX IF EXISTS idx_visitors_society;
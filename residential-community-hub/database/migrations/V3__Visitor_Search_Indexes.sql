@@ -0,0 +1,16 @@
+-- Indexed visitor search for the gate desk
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- ============================================
+-- VISITOR SEARCH INDEXES
+-- ============================================
+
+-- Trigram GIN indexes make ILIKE '%term%' and similarity() ranking
+-- index-assisted instead of a sequential scan over the society's history.
+CREATE INDEX idx_visitors_name_trgm ON visitors USING gin (name gin_trgm_ops);
+CREATE INDEX idx_visitors_purpose_trgm ON visitors USING gin (purpose gin_trgm_ops);
+
+-- Guards usually type the first digits of a phone number: a pattern-ops
+-- B-tree answers phone LIKE 'prefix%' as a range scan within the society.
+CREATE INDEX idx_visitors_society_phone ON visitors(society_id, phone varchar_pattern_ops);
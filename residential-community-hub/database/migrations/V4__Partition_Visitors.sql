@@ -0,0 +1,90 @@
+-- Monthly range partitioning of visitors on created_at
+
+-- ============================================
+-- PARTITIONED VISITORS TABLE
+-- ============================================
+ALTER TABLE visitors RENAME TO visitors_legacy;
+DROP TRIGGER IF EXISTS update_visitors_timestamp ON visitors_legacy;
+
+CREATE TABLE visitors (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    name VARCHAR(100) NOT NULL,
+    phone VARCHAR(20) NOT NULL,
+    email VARCHAR(100),
+    purpose VARCHAR(200) NOT NULL,
+    host_id UUID NOT NULL REFERENCES users(id),
+    host_name VARCHAR(100),
+    host_apartment VARCHAR(50),
+    entry_time TIMESTAMP,
+    exit_time TIMESTAMP,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    vehicle_number VARCHAR(20),
+    photo_url VARCHAR(500),
+    society_id UUID NOT NULL REFERENCES societies(id) ON DELETE CASCADE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- The partition key has to be part of every unique constraint
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Catches rows outside any monthly partition; should stay empty as long as
+-- the partition maintenance job keeps creating months ahead of time.
+CREATE TABLE visitors_default PARTITION OF visitors DEFAULT;
+
+-- ============================================
+-- PARTITION MAINTENANCE FUNCTION
+-- ============================================
+CREATE OR REPLACE FUNCTION create_visitors_partition(month_start DATE)
+RETURNS TEXT AS $$
+DECLARE
+    range_start DATE := date_trunc('month', month_start)::DATE;
+    range_end DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := 'visitors_p' || to_char(range_start, 'YYYYMM');
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF visitors FOR VALUES FROM (%L) TO (%L)',
+        partition_name, range_start, range_end
+    );
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Cover existing history plus the next three months
+DO $$
+DECLARE
+    m DATE;
+BEGIN
+    m := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM visitors_legacy), CURRENT_TIMESTAMP))::DATE;
+    WHILE m <= date_trunc('month', CURRENT_DATE + INTERVAL '3 months') LOOP
+        PERFORM create_visitors_partition(m);
+        m := (m + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+INSERT INTO visitors (id, name, phone, email, purpose, host_id, host_name, host_apartment,
+                      entry_time, exit_time, status, vehicle_number, photo_url, society_id,
+                      created_at, updated_at)
+SELECT id, name, phone, email, purpose, host_id, host_name, host_apartment,
+       entry_time, exit_time, status, vehicle_number, photo_url, society_id,
+       created_at, updated_at
+FROM visitors_legacy;
+
+DROP TABLE visitors_legacy;
+
+-- ============================================
+-- VISITOR INDEXES (created on every partition)
+-- ============================================
+CREATE INDEX idx_visitors_host ON visitors(host_id);
+CREATE INDEX idx_visitors_status ON visitors(status);
+CREATE INDEX idx_visitors_created ON visitors(created_at);
+CREATE INDEX idx_visitors_society_feed ON visitors(society_id, created_at DESC, id DESC);
+CREATE INDEX idx_visitors_society_open ON visitors(society_id, created_at DESC, id DESC)
+    WHERE status IN ('PENDING', 'CHECKED_IN');
+CREATE INDEX idx_visitors_name_trgm ON visitors USING gin (name gin_trgm_ops);
+CREATE INDEX idx_visitors_purpose_trgm ON visitors USING gin (purpose gin_trgm_ops);
+CREATE INDEX idx_visitors_society_phone ON visitors(society_id, phone varchar_pattern_ops);
+-- Today's gate list range-scans entry_time
+CREATE INDEX idx_visitors_society_entry ON visitors(society_id, entry_time);
+
+CREATE TRIGGER update_visitors_timestamp BEFORE UPDATE ON visitors
+    FOR EACH ROW EXECUTE FUNCTION update_timestamp();
@@ -0,0 +1,22 @@
+-- Transactional outbox shared by every service that publishes domain events
+
+-- ============================================
+-- OUTBOX EVENTS TABLE
+-- ============================================
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    source VARCHAR(50) NOT NULL,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id VARCHAR(50),
+    exchange VARCHAR(100) NOT NULL,
+    routing_key VARCHAR(100) NOT NULL,
+    payload_type VARCHAR(200) NOT NULL,
+    payload TEXT NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Each service's relay drains only its own rows, oldest first
+CREATE INDEX idx_outbox_events_source ON outbox_events(source, id);
@@ -0,0 +1,6 @@
+-- Outbox stores the message exactly as the service's converter produced it,
+-- so compact binary events and JSON events share one relay
+
+ALTER TABLE outbox_events ALTER COLUMN payload TYPE BYTEA USING convert_to(payload, 'UTF8');
+ALTER TABLE outbox_events ADD COLUMN content_type VARCHAR(100) NOT NULL DEFAULT 'application/json';
+ALTER TABLE outbox_events ADD COLUMN headers TEXT;
@@ -0,0 +1,96 @@
+-- Append-only audit store: monthly range partitions on created_at, BRIN for
+-- time and composite B-trees matching how the log is actually read
+
+-- ============================================
+-- PARTITIONED AUDIT LOGS TABLE
+-- ============================================
+ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+
+CREATE TABLE audit_logs (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    user_id VARCHAR(50),
+    username VARCHAR(50),
+    action VARCHAR(100) NOT NULL,
+    entity_type VARCHAR(50) NOT NULL,
+    entity_id VARCHAR(50),
+    old_value TEXT,
+    new_value TEXT,
+    ip_address VARCHAR(45),
+    user_agent VARCHAR(500),
+    society_id UUID,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- Ingestion relies on this for idempotent inserts (ON CONFLICT DO NOTHING)
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+-- ============================================
+-- PARTITION MAINTENANCE FUNCTION
+-- ============================================
+CREATE OR REPLACE FUNCTION create_audit_logs_partition(month_start DATE)
+RETURNS TEXT AS $$
+DECLARE
+    range_start DATE := date_trunc('month', month_start)::DATE;
+    range_end DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := 'audit_logs_p' || to_char(range_start, 'YYYYMM');
+BEGIN
+    -- Rows are never updated, so pages can be packed full and autovacuum
+    -- only needs to run for visibility map / freezing after bulk inserts
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L) ' ||
+        'WITH (fillfactor = 100, autovacuum_vacuum_insert_scale_factor = 0.05)',
+        partition_name, range_start, range_end
+    );
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    m DATE;
+BEGIN
+    m := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM audit_logs_legacy), CURRENT_TIMESTAMP))::DATE;
+    WHILE m <= date_trunc('month', CURRENT_DATE + INTERVAL '3 months') LOOP
+        PERFORM create_audit_logs_partition(m);
+        m := (m + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+-- Loaded in time order so each partition's BRIN ranges stay tight
+INSERT INTO audit_logs (id, user_id, username, action, entity_type, entity_id, old_value, new_value,
+                        ip_address, user_agent, society_id, created_at)
+SELECT id, user_id, username, action, entity_type, entity_id, old_value, new_value,
+       ip_address, user_agent, society_id, created_at
+FROM audit_logs_legacy
+ORDER BY created_at;
+
+DROP TABLE audit_logs_legacy;
+
+-- ============================================
+-- AUDIT INDEXES (created on every partition)
+-- ============================================
+-- Rows arrive roughly in created_at order, so a BRIN replaces the B-tree on
+-- time at a fraction of the size and insert cost
+CREATE INDEX idx_audit_logs_created_brin ON audit_logs USING brin (created_at) WITH (pages_per_range = 32);
+-- Society activity timeline, newest first
+CREATE INDEX idx_audit_logs_society_time ON audit_logs(society_id, created_at DESC, id DESC);
+-- History of a single entity
+CREATE INDEX idx_audit_logs_entity_time ON audit_logs(entity_type, entity_id, created_at DESC);
+-- Per-user history; most system events carry no user
+CREATE INDEX idx_audit_logs_user_time ON audit_logs(user_id, created_at DESC)
+    WHERE user_id IS NOT NULL;
+
+-- ============================================
+-- APPEND-ONLY ENFORCEMENT
+-- ============================================
+-- Retention works on whole partitions (DETACH / DROP), never on rows
+CREATE OR REPLACE FUNCTION reject_audit_logs_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    RAISE EXCEPTION 'audit_logs is append-only (% rejected)', TG_OP;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER audit_logs_no_update BEFORE UPDATE OR DELETE ON audit_logs
+    FOR EACH ROW EXECUTE FUNCTION reject_audit_logs_change();
@@ -0,0 +1,30 @@
+-- Tamper-evident audit log: rows are sealed into segments at ingestion time.
+-- Each segment stores the Merkle root of its rows and is chained to the
+-- previous segment, so integrity is verified per segment, not per row.
+
+-- ============================================
+-- AUDIT SEGMENTS
+-- ============================================
+CREATE SEQUENCE audit_segments_id_seq;
+
+CREATE TABLE audit_segments (
+    -- Allocated before the rows are inserted so they can reference it
+    id BIGINT PRIMARY KEY,
+    -- Position in the hash chain; assigned when the segment is sealed
+    chain_seq BIGINT NOT NULL UNIQUE,
+    row_count INTEGER NOT NULL,
+    first_created_at TIMESTAMP NOT NULL,
+    last_created_at TIMESTAMP NOT NULL,
+    merkle_root BYTEA NOT NULL,
+    prev_hash BYTEA NOT NULL,
+    segment_hash BYTEA NOT NULL,
+    sealed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_audit_segments_time ON audit_segments(last_created_at, first_created_at);
+
+-- Rows written before sealing existed have no segment
+ALTER TABLE audit_logs ADD COLUMN segment_id BIGINT;
+
+-- Ids only grow, so inserts always land on the rightmost leaf
+CREATE INDEX idx_audit_logs_segment ON audit_logs(segment_id);
@@ -0,0 +1,19 @@
+-- Hourly rollups written by analytics-service's windowed aggregator
+
+-- ============================================
+-- ANALYTICS HOURLY STATS TABLE
+-- ============================================
+CREATE TABLE analytics_hourly_stats (
+    society_id UUID NOT NULL,
+    -- Local wall-clock hour, same convention as analytics_daily_stats.stat_date
+    bucket_start TIMESTAMP NOT NULL,
+    visitors_created INTEGER NOT NULL DEFAULT 0,
+    check_ins INTEGER NOT NULL DEFAULT 0,
+    check_outs INTEGER NOT NULL DEFAULT 0,
+    logins INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (society_id, bucket_start)
+);
+
+-- Rollups are rewritten in place every flush while their hour is open
+ALTER TABLE analytics_hourly_stats SET (fillfactor = 90);
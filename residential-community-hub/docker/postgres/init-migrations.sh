@@ -0,0 +1,14 @@
+#!/bin/sh
+# Applies database/migrations on first start, ordered by Flyway version.
+# The entrypoint would run the files in byte order, which puts V10__ ahead
+# of V1__ and V2__.
+set -e
+
+ls /migrations/V*__*.sql \
+  | sed 's|^/migrations/V\([0-9]*\)__.*|\1 &|' \
+  | sort -n \
+  | cut -d' ' -f2 \
+  | while read -r file; do
+      echo "$0: applying $file"
+      psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" -f "$file"
+    done